@@ -1,20 +1,72 @@
 package com.search2sql;
 
+import com.search2sql.batch.BatchResult;
+import com.search2sql.bulk.BulkConfig;
+import com.search2sql.bulk.BulkMode;
+import com.search2sql.bulk.KeyReader;
+import com.search2sql.cost.CostEstimator;
+import com.search2sql.cost.CostPolicy;
+import com.search2sql.exception.IllegalUseException;
 import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.exception.SearchError;
+import com.search2sql.exception.UncheckedSQLException;
 import com.search2sql.exception.i18n.ExceptionHandler;
 import com.search2sql.exception.i18n.LocalizedExceptionHandler;
+import com.search2sql.execution.RowMapper;
+import com.search2sql.execution.TieredResult;
 import com.search2sql.impl.interpreter.BasicInterpreter;
+import com.search2sql.impl.interpreter.util.ParserLoader;
+import com.search2sql.impl.parser.provided.MatchMode;
 import com.search2sql.impl.translator.FileTranslator;
 import com.search2sql.interpreter.Interpreter;
+import com.search2sql.limit.SearchBudget;
+import com.search2sql.limit.SearchLimits;
+import com.search2sql.parser.Parser;
+import com.search2sql.query.BindResult;
+import com.search2sql.query.BoundQuery;
+import com.search2sql.query.Keyset;
 import com.search2sql.query.Query;
+import com.search2sql.query.SqlArray;
 import com.search2sql.query.SubQuery;
+import com.search2sql.query.expression.Expression;
+import com.search2sql.query.expression.ExpressionConverter;
+import com.search2sql.query.expression.Junction;
+import com.search2sql.query.expression.Negation;
+import com.search2sql.query.expression.Predicate;
+import com.search2sql.rewriter.Rewriter;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
 import com.search2sql.table.TableConfig;
 import com.search2sql.translator.Translator;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is the library's one-stop shop for all utilities.
@@ -45,14 +97,63 @@ import java.sql.SQLException;
  *         This is the same as the previous method, but in this case also the startIndex is replaced by the default value
  *         <code>1</code>. As a consequence no parameter exists in the suffix.
  *     </li>
+ *     <li>
+ *         {@link Search#prepareBulkStatement(Reader, Connection, String, String, int)}<br>
+ *         This method is used for long lists of keys (e.g. pasted order numbers). It reads the search from a
+ *         {@link Reader} and joins the keys instead of generating one predicate per key.
+ *     </li>
+ *     <li>
+ *         {@link Search#bindAll(Collection)} and {@link Search#translateAll(Collection)}<br>
+ *         These methods translate many searches (e.g. saved searches) in parallel without a connection.
+ *     </li>
+ *     <li>
+ *         {@link Search#bindAsync(String, Executor)} and
+ *         {@link Search#prepareStatementAsync(String, Connection, String, String, int, Executor, Executor)}<br>
+ *         These methods return a {@link CompletableFuture} and run interpreting and the JDBC calls on the given
+ *         executors.
+ *     </li>
+ *     <li>
+ *         {@link Search#validate(CharSequence)} and {@link Search#newSession()}<br>
+ *         These methods are used for search-as-you-type: validating on every keystroke and interpreting only the
+ *         changed part of the search.
+ *     </li>
+ *     <li>
+ *         {@link Search#executeTiered(String, Connection, String, String, int, RowMapper)}<br>
+ *         This method executes the text predicates in tiers (exact, prefix, contains) and only escalates to the more
+ *         expensive predicates if the cheaper ones found too few rows.
+ *     </li>
+ *     <li>
+ *         {@link Search#stream(String, Connection, String, String, RowMapper)}<br>
+ *         This method executes the search and returns the rows as lazy {@link Stream} that reads them with a cursor.
+ *     </li>
+ *     <li>
+ *         {@link Search#prepareStatement(String, Connection, String, String, int, Keyset)}<br>
+ *         This method prepares a page of a keyset pagination, which seeks after the last row instead of using
+ *         <code>OFFSET</code>.
+ *     </li>
  * </ul>
  */
 public final class Search {
 
+    /**
+     * This is the fetch size of {@link Search#stream(String, Connection, String, String, RowMapper)}.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    // the tiers of a tiered execution from cheap to expensive
+    private static final List<MatchMode> TIERS = Collections.unmodifiableList(
+            Arrays.asList(MatchMode.EXACT, MatchMode.PREFIX, MatchMode.CONTAINS));
+
     private final TableConfig tableConfig;
     private final Interpreter interpreter;
     private final Translator translator;
     private final ExceptionHandler exceptionHandler;
+    private final List<Rewriter> rewriters;
+    private final BulkConfig bulkConfig;
+    private final SearchLimits limits;
+    private final CostEstimator costEstimator;
+    private final CostPolicy costPolicy;
+    private final ExecutorService batchExecutor;
 
     /**
      * This is the default constructor for this class. It sets the {@link TableConfig} it got as a parameter
@@ -72,14 +173,28 @@ public final class Search {
         this(tableConfig,
                 new BasicInterpreter(),
                 new FileTranslator(),
-                new LocalizedExceptionHandler());
+                new LocalizedExceptionHandler(),
+                Collections.emptyList(),
+                null,
+                SearchLimits.UNLIMITED,
+                null,
+                null,
+                null);
     }
 
-    Search(TableConfig tableConfig, Interpreter interpreter, Translator translator, ExceptionHandler exceptionHandler) {
+    Search(TableConfig tableConfig, Interpreter interpreter, Translator translator, ExceptionHandler exceptionHandler,
+           List<Rewriter> rewriters, BulkConfig bulkConfig, SearchLimits limits, CostEstimator costEstimator,
+           CostPolicy costPolicy, ExecutorService batchExecutor) {
         this.tableConfig = tableConfig;
         this.interpreter = interpreter;
         this.translator = translator;
         this.exceptionHandler = exceptionHandler;
+        this.rewriters = Collections.unmodifiableList(new ArrayList<>(rewriters));
+        this.bulkConfig = bulkConfig;
+        this.limits = limits;
+        this.costEstimator = costEstimator;
+        this.costPolicy = costPolicy;
+        this.batchExecutor = batchExecutor;
     }
 
     /**
@@ -135,13 +250,172 @@ public final class Search {
      */
     public PreparedStatement prepareStatement(String search, Connection connection, String queryPrefix,
                                                String querySuffix, int startIndex) throws InvalidSearchException, SQLException {
+        return prepareStatement(interpret(search), connection, queryPrefix, querySuffix, startIndex);
+    }
+
+    /**
+     * This method interprets the search expression, applies all {@link Rewriter Rewriters} and estimates the cost of
+     * the search if a {@link CostEstimator} is used. The returned
+     * {@link Query} can be inspected (e.g. {@link Query#getDroppedTerms()}) before it is passed to
+     * {@link Search#prepareStatement(Query, Connection, String, String, int)}.
+     *
+     * @param search user search expression
+     * @return interpreted and rewritten query
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     */
+    public Query interpret(String search) throws InvalidSearchException {
+        return interpret(search, budget -> interpreter.interpret(search, tableConfig, budget));
+    }
+
+    Query interpret(String search, Interpretation interpretation) throws InvalidSearchException {
+        // check the length before doing any work
+        limits.checkInputLength(search.length());
+
+        // the deadline starts now
+        SearchBudget budget = limits.start();
+
         // interpret the search
-        Query query = interpreter.interpret(search, tableConfig);
+        Query query = interpretation.interpret(budget);
+
+        // apply all rewriters in the order they were added
+        for (Rewriter rewriter : rewriters) {
+            query = rewriter.rewrite(query);
+        }
+
+        // check the final query again because the interpreter may not check the budget and rewriters change the query
+        int predicates = 0;
+        int parameters = 0;
+
+        for (SubQuery subQuery : query.getSubQueries()) {
+            if (subQuery.getParserId() != null) {
+                predicates++;
+                parameters += countParameters(subQuery.getValue());
+            }
+        }
+
+        budget.checkPredicates(predicates);
+        limits.checkParameters(parameters);
+        budget.checkDeadline();
+
+        // estimate the cost and let the policy decide what happens with the search
+        if (costEstimator != null) {
+            query.setCost(costEstimator.estimate(query));
+
+            if (costPolicy != null) {
+                query = costPolicy.apply(query, costEstimator);
+            }
+        }
+
+        return query;
+    }
+
+    /**
+     * This method starts a new {@link SearchSession} for a search box whose search changes a little with every
+     * keystroke. The session interprets only the changed part of the search again.
+     *
+     * @return new session
+     */
+    public SearchSession newSession() {
+        return new SearchSession(this);
+    }
+
+    /**
+     * This method only checks if the search expression is valid, e.g. on every keystroke in a search box. It doesn't
+     * interpret the search into a {@link Query}; the interpreter just splits it and the parsers check the parts (see
+     * {@link Interpreter#validate(CharSequence, TableConfig)}). A valid search returns the shared
+     * {@link SearchError#VALID}, so nothing is created for it.
+     * <br><br>
+     * Only the length of the search is checked of the limits. The other limits, the rewriters and the cost are
+     * checked when the search is bound or prepared.
+     *
+     * @param search user search expression
+     * @return the first error of the search (error code and position) or {@link SearchError#VALID}
+     */
+    public SearchError validate(CharSequence search) {
+        SearchError error = limits.validateInputLength(search.length());
+
+        return error.isValid() ? interpreter.validate(search, tableConfig) : error;
+    }
 
+    /**
+     * This method estimates the cost of a search without preparing a statement (see {@link CostEstimator}). The
+     * {@link CostPolicy} is applied, so a rejected search throws an exception.
+     *
+     * @param search user search expression
+     * @return estimated cost or <code>0</code> if no estimator is used
+     * @throws InvalidSearchException thrown if the search expression is invalid or rejected
+     */
+    public double estimateCost(String search) throws InvalidSearchException {
+        return interpret(search).getCost();
+    }
+
+    /**
+     * This method prepares the statement for an already interpreted query (see {@link Search#interpret(String)}).
+     * The parameters are the same as of {@link Search#prepareStatement(String, Connection, String, String, int)}.
+     *
+     * @param query interpreted and rewritten query
+     * @param connection JDBC connection to prepare the statement
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param startIndex index to start setting the parameters
+     * @return fully prepared statement
+     * @throws InvalidSearchException thrown if the generated sql is longer than allowed
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     */
+    public PreparedStatement prepareStatement(Query query, Connection connection, String queryPrefix,
+                                              String querySuffix, int startIndex) throws InvalidSearchException, SQLException {
+        return prepareStatement(query, connection, queryPrefix, querySuffix, startIndex, null, false);
+    }
+
+    /**
+     * This method prepares the statement for a page of a keyset pagination. The seek predicate of the keyset (see
+     * {@link Keyset#toSql()}) is appended to the translated search with <code>AND</code> and its values are bound
+     * right after the parameters of the search. The suffix should contain the <code>ORDER BY</code> clause of the
+     * keyset (see {@link Keyset#orderBy()}) and a limit of the page size.
+     * <br><br>
+     * The other parameters are the same as of {@link Search#prepareStatement(String, Connection, String, String, int)}.
+     * If the suffix contains own parameters, they start after the parameters of the search and of the keyset.
+     *
+     * @param search user search expression
+     * @param connection JDBC connection to prepare the statement
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param startIndex index to start setting the parameters
+     * @param keyset sort columns and the key of the last row of the previous page
+     * @return fully prepared statement
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     */
+    public PreparedStatement prepareStatement(String search, Connection connection, String queryPrefix,
+                                              String querySuffix, int startIndex, Keyset keyset) throws InvalidSearchException, SQLException {
+        return prepareStatement(interpret(search), connection, queryPrefix, querySuffix, startIndex, keyset, false);
+    }
+
+    private PreparedStatement prepareStatement(Query query, Connection connection, String queryPrefix,
+                                               String querySuffix, int startIndex, Keyset keyset,
+                                               boolean cursor) throws InvalidSearchException, SQLException {
         // initialize the counter variable
         int current = startIndex;
+        // translate the query and check its length before the database sees it
+        String sql = translator.translate(query);
+
+        if (keyset != null && !keyset.isFirstPage()) {
+            // the search is enclosed because its connectors would bind the seek predicate otherwise
+            sql = sql.trim().isEmpty() ? keyset.toSql() : "( " + sql + " ) AND " + keyset.toSql();
+        }
+
+        limits.checkSqlLength(sql.length());
+
         // prepare the statement with the given prefix, the translated query and the suffix
-        PreparedStatement ps = connection.prepareStatement(queryPrefix + " " + translator.translate(query) + " " + querySuffix);
+        String statement = queryPrefix + " " + sql + " " + querySuffix;
+        PreparedStatement ps = cursor
+                ? connection.prepareStatement(statement, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)
+                : connection.prepareStatement(statement);
+
+        // let the database cancel the search when its time is up
+        if (limits.getQueryTimeout() > 0) {
+            ps.setQueryTimeout(limits.getQueryTimeout());
+        }
 
         // iterate over every SubQuery to set the parameters
         for (SubQuery subQuery : query.getSubQueries()) {
@@ -154,22 +428,14 @@ public final class Search {
                 continue;
             }
 
-            // checks for the type of the values and uses the matching method
-            if (subQuery.getValue() instanceof String) {
-                // the value is a string so set it and increment the current index
-                ps.setString(current++, subQuery.getValue().toString());
-            } else if (subQuery.getValue() instanceof Integer) {
-                // the value is an Integer or simple int
-                ps.setInt(current++, (int) subQuery.getValue());
-            } else if (subQuery.getValue() instanceof Date) {
-                // the value is a java.sql.Date
-                ps.setDate(current++, (Date) subQuery.getValue());
-            } else if (subQuery.getValue() == null) {
-                // the value is null; so set null at the current position
-                ps.setNull(current++, 0);
-            } else {
-                // the value isn't supported, so use the generic value
-                ps.setObject(current++, subQuery.getValue());
+            // set the value and continue after the last parameter that was set
+            current = setParameter(ps, connection, current, subQuery.getValue());
+        }
+
+        // the values of the seek predicate follow the parameters of the search
+        if (keyset != null) {
+            for (Object value : keyset.getParameters()) {
+                current = setParameter(ps, connection, current, value);
             }
         }
 
@@ -177,6 +443,667 @@ public final class Search {
         return ps;
     }
 
+    /**
+     * This method overloads {@link Search#stream(String, Connection, String, String, int, RowMapper)} and uses the
+     * {@link Search#DEFAULT_FETCH_SIZE}.
+     *
+     * @param search user search expression
+     * @param connection JDBC connection to execute the search
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param mapper mapper of the rows
+     * @param <T> type of the mapped rows
+     * @return lazily evaluated stream of the mapped rows that must be closed
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     */
+    public <T> Stream<T> stream(String search, Connection connection, String queryPrefix, String querySuffix,
+                                RowMapper<T> mapper) throws InvalidSearchException, SQLException {
+        return stream(search, connection, queryPrefix, querySuffix, DEFAULT_FETCH_SIZE, mapper);
+    }
+
+    /**
+     * This method executes the search and returns its rows as lazily evaluated {@link Stream}. The rows are read
+     * from the database while the stream is consumed, so a consumer that only takes the first rows (e.g. with
+     * {@link Stream#limit(long)}) doesn't pull the whole result.
+     * <br><br>
+     * The statement uses a forward-only and read-only cursor with the given fetch size. Some drivers only stream with
+     * a cursor inside of a transaction (e.g. PostgreSQL); for them the auto-commit of the connection is disabled while
+     * the stream is open and restored when it is closed. MySQL additionally needs <code>useCursorFetch=true</code> in
+     * the connection url.
+     * <br><br>
+     * The result set and the statement are closed when the stream was read to the end, when an error occurred or
+     * when the stream is closed. A stream that isn't read to the end must therefore be closed (e.g. with
+     * try-with-resources). The connection itself stays open. Errors of the driver while the stream is consumed are
+     * thrown as {@link UncheckedSQLException}.
+     *
+     * @param search user search expression
+     * @param connection JDBC connection to execute the search
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param fetchSize count of rows fetched from the database at once
+     * @param mapper mapper of the rows
+     * @param <T> type of the mapped rows
+     * @return lazily evaluated stream of the mapped rows that must be closed
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     */
+    public <T> Stream<T> stream(String search, Connection connection, String queryPrefix, String querySuffix,
+                                int fetchSize, RowMapper<T> mapper) throws InvalidSearchException, SQLException {
+        Query query = interpret(search);
+        // only disable the auto-commit if the driver needs it and it wasn't disabled by the caller
+        boolean autoCommit = connection.getAutoCommit() && needsTransaction(connection);
+        Cursor<T> cursor = new Cursor<>(connection, autoCommit, mapper);
+
+        try {
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+
+            cursor.statement = prepareStatement(query, connection, queryPrefix, querySuffix, 1, null, true);
+            cursor.statement.setFetchSize(fetchSize);
+            cursor.resultSet = cursor.statement.executeQuery();
+        } catch (InvalidSearchException | SQLException | RuntimeException e) {
+            cursor.close(e);
+
+            throw e;
+        }
+
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    private boolean needsTransaction(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+
+        // PostgreSQL ignores the fetch size in auto-commit mode and reads the whole result
+        return product != null && product.toLowerCase(Locale.ROOT).contains("postgresql");
+    }
+
+    /**
+     * This method executes a text search in tiers from cheap to expensive predicates. Every text predicate of the
+     * {@link com.search2sql.impl.parser.provided.TextParser TextParser} is first searched exactly, then by prefix and only then anywhere in the column (the mode it
+     * was interpreted with is the widest tier). The next tier is only executed if the previous one found fewer rows
+     * than the limit. All tiers are derived from the same interpreted query with the search term of the
+     * {@link SubQuery}. Predicates under a <code>NOT</code> are never narrowed, because that would widen the result.
+     * <br><br>
+     * The rows of every tier are limited with {@link Statement#setMaxRows(int)}, so the prefix and suffix don't need
+     * a dialect-specific <code>LIMIT</code>. A search without text predicates is executed once.
+     *
+     * @param search user search expression
+     * @param connection JDBC connection to execute the search
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param limit count of rows that is enough to answer the search
+     * @param mapper mapper of the rows
+     * @param <T> type of the mapped rows
+     * @return rows and the tier that answered
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     */
+    public <T> TieredResult<T> executeTiered(String search, Connection connection, String queryPrefix,
+                                             String querySuffix, int limit, RowMapper<T> mapper)
+            throws InvalidSearchException, SQLException {
+        Query query = interpret(search);
+        Set<SubQuery> tierable = tierable(query);
+        MatchMode widest = widestTier(query, tierable);
+        int executions = 0;
+
+        for (MatchMode tier : TIERS) {
+            boolean last = widest == null || tier == widest;
+            List<T> rows = new ArrayList<>();
+
+            try (PreparedStatement ps = prepareStatement(last ? query : tier(query, tier, tierable), connection,
+                    queryPrefix, querySuffix, 1)) {
+                ps.setMaxRows(limit);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(mapper.map(rs));
+                    }
+                }
+            }
+
+            executions++;
+
+            if (last || rows.size() >= limit) {
+                return new TieredResult<>(rows, widest == null ? null : tier, executions);
+            }
+        }
+
+        // the widest tier is always one of the tiers
+        throw new IllegalStateException();
+    }
+
+    private Set<SubQuery> tierable(Query query) {
+        Set<SubQuery> tierable = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        collectTierable(ExpressionConverter.toExpression(query.getSubQueries()), false, tierable);
+
+        return tierable;
+    }
+
+    private void collectTierable(Expression expression, boolean negated, Set<SubQuery> tierable) {
+        if (expression instanceof Predicate) {
+            // a narrowed predicate under a NOT would widen the result, so it keeps its interpreted mode
+            if (!negated && tierOf(((Predicate) expression).getSubQuery()) != null) {
+                tierable.add(((Predicate) expression).getSubQuery());
+            }
+        } else if (expression instanceof Negation) {
+            collectTierable(((Negation) expression).getOperand(), !negated, tierable);
+        } else if (expression instanceof Junction) {
+            for (Expression operand : ((Junction) expression).getOperands()) {
+                collectTierable(operand, negated, tierable);
+            }
+        }
+
+        // fragments were built by rewriters and are kept as they are
+    }
+
+    private MatchMode widestTier(Query query, Set<SubQuery> tierable) {
+        MatchMode widest = null;
+
+        for (SubQuery subQuery : query.getSubQueries()) {
+            MatchMode mode = tierable.contains(subQuery) ? tierOf(subQuery) : null;
+
+            // exact predicates are already the cheapest tier
+            if (mode != null && mode != MatchMode.EXACT && (widest == null || mode.ordinal() > widest.ordinal())) {
+                widest = mode;
+            }
+        }
+
+        return widest;
+    }
+
+    private MatchMode tierOf(SubQuery subQuery) {
+        // only text predicates that still know their term can be searched in another mode
+        if (!ParserTypes.TEXT.equals(subQuery.getParserId()) || subQuery.getTerm() == null) {
+            return null;
+        }
+
+        MatchMode mode = MatchMode.ofType(subQuery.getType());
+
+        return TIERS.contains(mode) ? mode : null;
+    }
+
+    private Query tier(Query query, MatchMode tier, Set<SubQuery> tierable) {
+        List<SubQuery> subQueries = new LinkedList<>();
+
+        for (SubQuery subQuery : query.getSubQueries()) {
+            MatchMode mode = tierable.contains(subQuery) ? tierOf(subQuery) : null;
+
+            if (mode != null && tier.ordinal() < mode.ordinal()) {
+                // the base type is 'simple' or 'quote' followed by the suffix of the mode
+                String type = subQuery.getType();
+                int dot = type.indexOf('.');
+                SubQuery tiered = new SubQuery(subQuery);
+
+                tiered.setType(tier.type(dot < 0 ? type : type.substring(0, dot)));
+                tiered.setValue(tier.shape(subQuery.getTerm()));
+
+                subQueries.add(tiered);
+            } else {
+                subQueries.add(subQuery);
+            }
+        }
+
+        Query tiered = new Query(query.getOriginal(), query.getTableConfig(), subQueries);
+
+        tiered.setDroppedTerms(query.getDroppedTerms());
+        tiered.setCost(query.getCost());
+        tiered.setRoute(query.getRoute());
+
+        return tiered;
+    }
+
+    /**
+     * This method translates the search and collects its parameters without preparing a statement.
+     *
+     * @param search user search expression
+     * @return translated sql with its parameters
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     */
+    public BoundQuery bind(String search) throws InvalidSearchException {
+        Query query = interpret(search);
+        String sql = translator.translate(query);
+
+        limits.checkSqlLength(sql.length());
+
+        return new BoundQuery(sql, BoundQuery.parametersOf(query));
+    }
+
+    /**
+     * This method binds the search like {@link Search#bind(String)} but returns the errors of an invalid search
+     * instead of throwing them. An error of the library's usage (an {@link IllegalUseException}) is still thrown.
+     *
+     * @param search user search expression
+     * @return translated sql with its parameters or the errors of the search
+     */
+    public BindResult tryBind(String search) {
+        try {
+            return new BindResult(bind(search), Collections.emptyList());
+        } catch (InvalidSearchException e) {
+            return new BindResult(null, e.getErrors());
+        }
+    }
+
+    /**
+     * This method prepares the statement for an already bound query (see {@link Search#bind(String)}). The search
+     * isn't interpreted again, so only the JDBC calls are made. The other parameters are the same as of
+     * {@link Search#prepareStatement(String, Connection, String, String, int)}.
+     *
+     * @param query translated query with its parameters
+     * @param connection JDBC connection to prepare the statement
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param startIndex index to start setting the parameters
+     * @return fully prepared statement
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     */
+    public PreparedStatement prepareStatement(BoundQuery query, Connection connection, String queryPrefix,
+                                              String querySuffix, int startIndex) throws SQLException {
+        int current = startIndex;
+        PreparedStatement ps = connection.prepareStatement(queryPrefix + " " + query.getSql() + " " + querySuffix);
+
+        // let the database cancel the search when its time is up
+        if (limits.getQueryTimeout() > 0) {
+            ps.setQueryTimeout(limits.getQueryTimeout());
+        }
+
+        // the parameters are already flat, so every parameter is set on its own
+        for (Object parameter : query.getParameters()) {
+            current = setParameter(ps, connection, current, parameter);
+        }
+
+        return ps;
+    }
+
+    /**
+     * This method binds the search (see {@link Search#bind(String)}) on the given executor. Interpreting is only CPU
+     * bound, so it can run on a small pool or a virtual thread per task.
+     * <br><br>
+     * An invalid search completes the future exceptionally with the {@link InvalidSearchException}.
+     *
+     * @param search user search expression
+     * @param executor executor the search is bound on
+     * @return future of the translated sql with its parameters
+     */
+    public CompletableFuture<BoundQuery> bindAsync(String search, Executor executor) {
+        return async(executor, () -> bind(search));
+    }
+
+    /**
+     * This method prepares the statement for an already bound query (see
+     * {@link Search#prepareStatement(BoundQuery, Connection, String, String, int)}) on the given executor. Preparing
+     * blocks while the driver talks to the database, so this executor is usually another one than the one
+     * interpreting the searches.
+     * <br><br>
+     * A problem with the JDBC API completes the future exceptionally with the {@link SQLException}.
+     *
+     * @param query translated query with its parameters
+     * @param connection JDBC connection to prepare the statement
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param startIndex index to start setting the parameters
+     * @param executor executor the statement is prepared on
+     * @return future of the fully prepared statement
+     */
+    public CompletableFuture<PreparedStatement> prepareStatementAsync(BoundQuery query, Connection connection,
+                                                                      String queryPrefix, String querySuffix,
+                                                                      int startIndex, Executor executor) {
+        return async(executor, () -> prepareStatement(query, connection, queryPrefix, querySuffix, startIndex));
+    }
+
+    /**
+     * This method binds the search on the first executor and prepares the statement on the second one. So the CPU
+     * bound interpreting and the blocking JDBC calls can be scheduled separately. Both executors may also be the
+     * same (e.g. a virtual thread per task).
+     *
+     * @param search user search expression
+     * @param connection JDBC connection to prepare the statement
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param startIndex index to start setting the parameters
+     * @param interpretExecutor executor the search is bound on
+     * @param jdbcExecutor executor the statement is prepared on
+     * @return future of the fully prepared statement
+     */
+    public CompletableFuture<PreparedStatement> prepareStatementAsync(String search, Connection connection,
+                                                                      String queryPrefix, String querySuffix,
+                                                                      int startIndex, Executor interpretExecutor,
+                                                                      Executor jdbcExecutor) {
+        return bindAsync(search, interpretExecutor).thenCompose(query ->
+                prepareStatementAsync(query, connection, queryPrefix, querySuffix, startIndex, jdbcExecutor));
+    }
+
+    private <T> CompletableFuture<T> async(Executor executor, AsyncTask<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        // the original exception is the cause of the future, not a wrapper of it
+        executor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (InvalidSearchException | SQLException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * This method overloads {@link Search#bindAll(Collection, ExecutorService)} and uses the executor set with
+     * {@link SearchBuilder#setBatchExecutor(ExecutorService)} or the common {@link ForkJoinPool}.
+     *
+     * @param searches user search expressions
+     * @return one result per search in the order of the searches
+     * @throws InterruptedException thrown if the thread was interrupted while waiting for the results
+     */
+    public List<BatchResult<BoundQuery>> bindAll(Collection<String> searches) throws InterruptedException {
+        return bindAll(searches, batchExecutor());
+    }
+
+    /**
+     * This method binds many searches (see {@link Search#bind(String)}) in parallel on the given executor.
+     * <br><br>
+     * All searches share the interpreter and therefore its cached parsers (all provided interpreters load the parsers
+     * of a table config only once, see {@link com.search2sql.impl.interpreter.util.ParserCache ParserCache}). An
+     * invalid search doesn't abort the batch; its error is saved in its {@link BatchResult}. The results are in the
+     * same order as the searches.
+     *
+     * @param searches user search expressions
+     * @param executor executor the searches are bound on
+     * @return one result per search in the order of the searches
+     * @throws InterruptedException thrown if the thread was interrupted while waiting for the results
+     */
+    public List<BatchResult<BoundQuery>> bindAll(Collection<String> searches, ExecutorService executor) throws InterruptedException {
+        return batch(searches, executor, this::bind);
+    }
+
+    /**
+     * This method overloads {@link Search#translateAll(Collection, ExecutorService)} and uses the executor set with
+     * {@link SearchBuilder#setBatchExecutor(ExecutorService)} or the common {@link ForkJoinPool}.
+     *
+     * @param searches user search expressions
+     * @return one result per search in the order of the searches
+     * @throws InterruptedException thrown if the thread was interrupted while waiting for the results
+     */
+    public List<BatchResult<String>> translateAll(Collection<String> searches) throws InterruptedException {
+        return translateAll(searches, batchExecutor());
+    }
+
+    /**
+     * This method translates many searches in parallel on the given executor. It works like
+     * {@link Search#bindAll(Collection, ExecutorService)} but only returns the sql.
+     *
+     * @param searches user search expressions
+     * @param executor executor the searches are translated on
+     * @return one result per search in the order of the searches
+     * @throws InterruptedException thrown if the thread was interrupted while waiting for the results
+     */
+    public List<BatchResult<String>> translateAll(Collection<String> searches, ExecutorService executor) throws InterruptedException {
+        return batch(searches, executor, search -> bind(search).getSql());
+    }
+
+    private <T> List<BatchResult<T>> batch(Collection<String> searches, ExecutorService executor,
+                                           BatchFunction<T> function) throws InterruptedException {
+        List<String> list = new ArrayList<>(searches);
+        List<Future<List<BatchResult<T>>>> futures = new ArrayList<>();
+
+        // a few chunks per thread, so the threads stay busy without scheduling every search on its own
+        int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        int chunkSize = Math.max(1, list.size() / (parallelism * 4));
+
+        for (int start = 0; start < list.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(list.size(), start + chunkSize);
+
+            futures.add(executor.submit(() -> {
+                List<BatchResult<T>> results = new ArrayList<>(to - from);
+
+                for (int i = from; i < to; i++) {
+                    results.add(apply(i, list.get(i), function));
+                }
+
+                return results;
+            }));
+        }
+
+        List<BatchResult<T>> results = new ArrayList<>(list.size());
+
+        // the chunks are collected in the order they were submitted
+        for (Future<List<BatchResult<T>>> future : futures) {
+            try {
+                results.addAll(future.get());
+            } catch (ExecutionException e) {
+                // errors of a single search are caught, so this is an error of the JVM
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        return results;
+    }
+
+    private <T> BatchResult<T> apply(int index, String search, BatchFunction<T> function) {
+        try {
+            return new BatchResult<>(index, search, function.apply(search), null);
+        } catch (InvalidSearchException | RuntimeException e) {
+            return new BatchResult<>(index, search, null, e);
+        }
+    }
+
+    private ExecutorService batchExecutor() {
+        return batchExecutor != null ? batchExecutor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * This method prepares a statement for a bulk list of keys (e.g. thousands of pasted order numbers). It needs a
+     * {@link BulkConfig} that was set with {@link SearchBuilder#setBulkConfig(BulkConfig)}.
+     * <br><br>
+     * The search is read token by token from the given {@link Reader}. If every token is a key of the configured key
+     * column and there are at least as many keys as the threshold, the keys aren't translated into one predicate each.
+     * Instead the key column is joined with an inline <code>VALUES</code> list or with a temporary table the keys are
+     * batch-loaded into (see {@link BulkMode}). Otherwise the search is handled by
+     * {@link Search#prepareStatement(String, Connection, String, String, int)}.
+     * <br><br>
+     * <b>Note</b><br>
+     * The temporary table is created and filled with the given connection before the statement is prepared.
+     *
+     * @param search reader containing the user search expression
+     * @param connection JDBC connection to prepare the statement
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param startIndex index to start setting the parameters
+     * @return fully prepared statement
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     * @throws IOException thrown if the search can't be read
+     */
+    public PreparedStatement prepareBulkStatement(Reader search, Connection connection, String queryPrefix,
+                                                  String querySuffix, int startIndex) throws InvalidSearchException, SQLException, IOException {
+        if (bulkConfig == null) {
+            throw new IllegalUseException("You must specify a BulkConfig with the 'setBulkConfig(BulkConfig)' method " +
+                    "to use bulk searches.");
+        }
+
+        Parser parser = ParserLoader.loadParser(findKeyColumn().getParserId());
+        KeyReader reader = new KeyReader(search);
+        List<Object> keys = new ArrayList<>();
+        StringBuilder read = new StringBuilder();
+
+        // read all tokens as long as they are keys
+        for (String token = reader.next(); token != null; token = reader.next()) {
+            SubQuery subQuery = parser.isParserFor(token) ? parser.parse(token) : null;
+
+            if (subQuery == null || !"simple".equalsIgnoreCase(subQuery.getType())) {
+                /*
+                 * this token isn't a key, so the search can't be a bulk list.
+                 * rebuild the search from the keys read until now and the unchanged rest of the input, because
+                 * its separators may be part of a phrase or a term
+                 */
+                read.append(reader.rest());
+
+                return prepareStatement(read.toString(), connection, queryPrefix, querySuffix, startIndex);
+            }
+
+            keys.add(subQuery.getValue());
+            read.append(token).append(' ');
+        }
+
+        // too few keys; a normal search is cheaper
+        if (keys.size() < bulkConfig.getThreshold()) {
+            return prepareStatement(read.toString(), connection, queryPrefix, querySuffix, startIndex);
+        }
+
+        PreparedStatement ps;
+
+        // the parameters of the prefix are bound in front of the keys and count towards the maximum of the driver
+        if (bulkConfig.getMode() == BulkMode.VALUES && startIndex - 1 + keys.size() <= bulkConfig.getMaxParameters()) {
+            // one row per key
+            String row = bulkTemplate(bulkConfig.getRowTemplate());
+            StringBuilder values = new StringBuilder();
+
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    values.append(", ");
+                }
+
+                values.append(row);
+            }
+
+            String predicate = bulkTemplate(bulkConfig.getValuesTemplate()).replace("{values}", values);
+
+            ps = connection.prepareStatement(queryPrefix + " " + predicate + " " + querySuffix);
+
+            setParameter(ps, connection, startIndex, keys);
+        } else {
+            loadTemporaryTable(connection, keys);
+
+            ps = connection.prepareStatement(queryPrefix + " " + bulkTemplate(bulkConfig.getTableTemplate()) + " " + querySuffix);
+        }
+
+        // let the database cancel the search when its time is up
+        if (limits.getQueryTimeout() > 0) {
+            ps.setQueryTimeout(limits.getQueryTimeout());
+        }
+
+        return ps;
+    }
+
+    private void loadTemporaryTable(Connection connection, List<Object> keys) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // create the table if it doesn't exist and remove the keys of the last bulk search
+            statement.execute(bulkTemplate(bulkConfig.getCreateTemplate()));
+            statement.execute(bulkTemplate(bulkConfig.getClearTemplate()));
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(bulkTemplate(bulkConfig.getInsertTemplate()))) {
+            int batched = 0;
+
+            for (Object key : keys) {
+                setParameter(insert, connection, 1, key);
+                insert.addBatch();
+
+                // send the batch every time a chunk is full
+                if (++batched >= bulkConfig.getChunkSize()) {
+                    insert.executeBatch();
+
+                    batched = 0;
+                }
+            }
+
+            if (batched > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private String bulkTemplate(String template) {
+        return template
+                .replace("$", bulkConfig.getKeyColumn())
+                .replace("{table}", bulkConfig.getTableName())
+                .replace("{type}", bulkConfig.getKeyType());
+    }
+
+    private Column findKeyColumn() {
+        for (Table table : tableConfig.getTables()) {
+            for (Column column : table.getColumns()) {
+                String name = table.getPrefix() != null ? table.getPrefix() + "." + column.getName() : column.getName();
+
+                // the key column may be specified with or without table prefix
+                if (name.equalsIgnoreCase(bulkConfig.getKeyColumn()) || column.getName().equalsIgnoreCase(bulkConfig.getKeyColumn())) {
+                    return column;
+                }
+            }
+        }
+
+        throw new IllegalUseException(String.format("The key column '%s' of the BulkConfig doesn't exist in the TableConfig.",
+                bulkConfig.getKeyColumn()));
+    }
+
+    private int countParameters(Object value) {
+        // the same as setParameter but only counting
+        if (value instanceof int[]) {
+            return ((int[]) value).length;
+        } else if (value instanceof Collection) {
+            int count = 0;
+
+            for (Object element : (Collection<?>) value) {
+                count += countParameters(element);
+            }
+
+            return count;
+        }
+
+        return 1;
+    }
+
+    private int setParameter(PreparedStatement ps, Connection connection, int index, Object value) throws SQLException {
+        // checks for the type of the values and uses the matching method
+        if (value instanceof String) {
+            // the value is a string
+            ps.setString(index, value.toString());
+        } else if (value instanceof Integer) {
+            // the value is an Integer or simple int
+            ps.setInt(index, (int) value);
+        } else if (value instanceof Date) {
+            // the value is a java.sql.Date
+            ps.setDate(index, (Date) value);
+        } else if (value instanceof int[]) {
+            // the value is a range, so every element has its own parameter
+            for (int element : (int[]) value) {
+                ps.setInt(index++, element);
+            }
+
+            return index;
+        } else if (value instanceof Collection) {
+            // the value is a list (e.g. IN list), so every element has its own parameter
+            for (Object element : (Collection<?>) value) {
+                index = setParameter(ps, connection, index, element);
+            }
+
+            return index;
+        } else if (value instanceof SqlArray) {
+            // the value is bound as one single array
+            SqlArray array = (SqlArray) value;
+
+            ps.setArray(index, connection.createArrayOf(array.getTypeName(), array.getElements()));
+        } else if (value == null) {
+            // the value is null; so set null at the current position
+            ps.setNull(index, 0);
+        } else {
+            // the value isn't supported, so use the generic value
+            ps.setObject(index, value);
+        }
+
+        // one parameter was set
+        return index + 1;
+    }
+
     /**
      * This method returns the TableConfig that was specified while initializing this search.
      *
@@ -206,6 +1133,61 @@ public final class Search {
         return translator;
     }
 
+    /**
+     * This method returns the estimator for the cost of a search or <code>null</code> if costs aren't estimated.
+     *
+     * @return used CostEstimator
+     */
+    public CostEstimator getCostEstimator() {
+        return costEstimator;
+    }
+
+    /**
+     * This method returns the policy that is applied to the estimated cost or <code>null</code> if there's none.
+     *
+     * @return used CostPolicy
+     */
+    public CostPolicy getCostPolicy() {
+        return costPolicy;
+    }
+
+    /**
+     * This method returns the executor for batches or <code>null</code> if the common {@link ForkJoinPool} is used.
+     *
+     * @return used executor for batches
+     */
+    public ExecutorService getBatchExecutor() {
+        return batchExecutor;
+    }
+
+    /**
+     * This method returns the limits that bound the work of a single search.
+     *
+     * @return used SearchLimits
+     */
+    public SearchLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * This method returns the configuration for bulk searches or <code>null</code> if bulk searches aren't configured.
+     *
+     * @return used BulkConfig
+     */
+    public BulkConfig getBulkConfig() {
+        return bulkConfig;
+    }
+
+    /**
+     * This method returns the unmodifiable list of {@link Rewriter Rewriters} that are applied to every interpreted
+     * query in the order they were added.
+     *
+     * @return used rewriters
+     */
+    public List<Rewriter> getRewriters() {
+        return rewriters;
+    }
+
     /**
      * This method returns the implementation of the <code>ExceptionHandler</code> that was specified while initializing
      * this search.
@@ -215,4 +1197,132 @@ public final class Search {
     public ExceptionHandler getExceptionHandler() {
         return exceptionHandler;
     }
+
+    /**
+     * This is the lazy source of the rows of {@link Search#stream(String, Connection, String, String, int, RowMapper)}.
+     */
+    private static class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Connection connection;
+        private final boolean autoCommit;
+        private final RowMapper<T> mapper;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+        private boolean closed;
+
+        private Cursor(Connection connection, boolean autoCommit, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+
+            this.connection = connection;
+            this.autoCommit = autoCommit;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+
+            T row;
+
+            try {
+                // the resources are released as soon as the last row was read
+                if (!resultSet.next()) {
+                    close();
+
+                    return false;
+                }
+
+                row = mapper.map(resultSet);
+            } catch (SQLException e) {
+                close(e);
+
+                throw new UncheckedSQLException(e);
+            } catch (Throwable e) {
+                // e.g. a runtime exception of the mapper; the caller may not close the stream after it failed
+                close(e);
+
+                throw e;
+            }
+
+            action.accept(row);
+
+            return true;
+        }
+
+        private void close() {
+            close(null);
+        }
+
+        private void close(Throwable primary) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            SQLException error = null;
+
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+            } catch (SQLException e) {
+                error = e;
+            }
+
+            try {
+                if (statement != null) {
+                    statement.close();
+                }
+            } catch (SQLException e) {
+                error = suppress(error, e);
+            }
+
+            try {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                error = suppress(error, e);
+            }
+
+            if (error == null) {
+                return;
+            }
+
+            // an error while closing must not hide the error that caused the closing
+            if (primary != null) {
+                primary.addSuppressed(error);
+            } else {
+                throw new UncheckedSQLException(error);
+            }
+        }
+
+        private static SQLException suppress(SQLException error, SQLException e) {
+            if (error == null) {
+                return e;
+            }
+
+            error.addSuppressed(e);
+
+            return error;
+        }
+    }
+
+    interface Interpretation {
+
+        Query interpret(SearchBudget budget) throws InvalidSearchException;
+    }
+
+    private interface AsyncTask<T> {
+
+        T call() throws InvalidSearchException, SQLException;
+    }
+
+    private interface BatchFunction<T> {
+
+        T apply(String search) throws InvalidSearchException;
+    }
 }
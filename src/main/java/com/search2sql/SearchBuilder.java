@@ -1,14 +1,23 @@
 package com.search2sql;
 
+import com.search2sql.bulk.BulkConfig;
+import com.search2sql.cost.CostEstimator;
+import com.search2sql.cost.CostPolicy;
 import com.search2sql.exception.IllegalUseException;
 import com.search2sql.exception.i18n.ExceptionHandler;
 import com.search2sql.exception.i18n.LocalizedExceptionHandler;
 import com.search2sql.impl.interpreter.BasicInterpreter;
 import com.search2sql.impl.translator.FileTranslator;
 import com.search2sql.interpreter.Interpreter;
+import com.search2sql.limit.SearchLimits;
+import com.search2sql.rewriter.Rewriter;
 import com.search2sql.table.TableConfig;
 import com.search2sql.translator.Translator;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
 /**
  * This is the builder class for {@link Search}.
  * <br><br>
@@ -22,6 +31,18 @@ public final class SearchBuilder {
     private Interpreter interpreter;
     private Translator translator;
     private ExceptionHandler exceptionHandler;
+    private final List<Rewriter> rewriters = new ArrayList<>();
+    private BulkConfig bulkConfig;
+    private int maxInputLength;
+    private int maxTokens;
+    private int maxPredicates;
+    private int maxParameters;
+    private int maxSqlLength;
+    private long deadlineMillis;
+    private int queryTimeout;
+    private CostEstimator costEstimator;
+    private CostPolicy costPolicy;
+    private ExecutorService batchExecutor;
 
     /**
      * Basic constructor initializing default values.
@@ -80,6 +101,148 @@ public final class SearchBuilder {
         return this;
     }
 
+    /**
+     * This method adds a {@link Rewriter} that will be applied to every interpreted query before it is translated.
+     * Rewriters are applied in the order they were added.
+     *
+     * @param rewriter rewriter that will be added
+     * @return this (builder pattern)
+     */
+    public SearchBuilder addRewriter(Rewriter rewriter) {
+        this.rewriters.add(rewriter);
+        return this;
+    }
+
+    /**
+     * This method sets the configuration that is used for bulk searches with
+     * {@link Search#prepareBulkStatement(java.io.Reader, java.sql.Connection, String, String, int)}.
+     *
+     * @param bulkConfig configuration for bulk searches
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setBulkConfig(BulkConfig bulkConfig) {
+        this.bulkConfig = bulkConfig;
+        return this;
+    }
+
+    /**
+     * This method sets the maximal count of characters of a search. Longer searches are rejected before they are
+     * interpreted.
+     *
+     * @param maxInputLength maximal length (<code>0</code> for no limit)
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setMaxInputLength(int maxInputLength) {
+        this.maxInputLength = maxInputLength;
+        return this;
+    }
+
+    /**
+     * This method sets the maximal count of tokens a search is split into.
+     *
+     * @param maxTokens maximal count of tokens (<code>0</code> for no limit)
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+        return this;
+    }
+
+    /**
+     * This method sets the maximal count of predicates a search may generate. Every token generates one predicate for
+     * every column that can parse it.
+     *
+     * @param maxPredicates maximal count of predicates (<code>0</code> for no limit)
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setMaxPredicates(int maxPredicates) {
+        this.maxPredicates = maxPredicates;
+        return this;
+    }
+
+    /**
+     * This method sets the maximal count of parameters that are bound to the statement.
+     *
+     * @param maxParameters maximal count of parameters (<code>0</code> for no limit)
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setMaxParameters(int maxParameters) {
+        this.maxParameters = maxParameters;
+        return this;
+    }
+
+    /**
+     * This method sets the maximal count of characters of the generated sql (without prefix and suffix).
+     *
+     * @param maxSqlLength maximal length (<code>0</code> for no limit)
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setMaxSqlLength(int maxSqlLength) {
+        this.maxSqlLength = maxSqlLength;
+        return this;
+    }
+
+    /**
+     * This method sets the time a search may take to be interpreted and rewritten. The interpreter checks the deadline
+     * while it works.
+     *
+     * @param deadlineMillis deadline in milliseconds (<code>0</code> for no limit)
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setDeadline(long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+        return this;
+    }
+
+    /**
+     * This method sets the query timeout of every prepared statement (see
+     * {@link java.sql.Statement#setQueryTimeout(int)}).
+     *
+     * @param queryTimeout timeout in seconds (<code>0</code> for no timeout)
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setQueryTimeout(int queryTimeout) {
+        this.queryTimeout = queryTimeout;
+        return this;
+    }
+
+    /**
+     * This method sets the estimator that estimates the cost of every search before it is translated. The cost can be
+     * read from the interpreted {@link com.search2sql.query.Query Query}.
+     *
+     * @param costEstimator estimator that will be used
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setCostEstimator(CostEstimator costEstimator) {
+        this.costEstimator = costEstimator;
+        return this;
+    }
+
+    /**
+     * This method sets the policy that decides what happens with a search after its cost was estimated. The policy is
+     * only applied if a {@link CostEstimator} is set.
+     *
+     * @param costPolicy policy that will be used
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setCostPolicy(CostPolicy costPolicy) {
+        this.costPolicy = costPolicy;
+        return this;
+    }
+
+    /**
+     * This method sets the executor that is used by {@link Search#bindAll(java.util.Collection)} and
+     * {@link Search#translateAll(java.util.Collection)}. If it isn't set, the common
+     * {@link java.util.concurrent.ForkJoinPool ForkJoinPool} is used.
+     *
+     * @param batchExecutor executor for batches (e.g. a dedicated <code>ForkJoinPool</code>)
+     * @return this (builder pattern)
+     */
+    public SearchBuilder setBatchExecutor(ExecutorService batchExecutor) {
+        this.batchExecutor = batchExecutor;
+        return this;
+    }
+
     /**
      * This method constructs the {@link Search} object. 
      *
@@ -93,7 +256,11 @@ public final class SearchBuilder {
                     new NullPointerException());
         }
 
+        SearchLimits limits = new SearchLimits(maxInputLength, maxTokens, maxPredicates, maxParameters, maxSqlLength,
+                deadlineMillis, queryTimeout);
+
         // build the search and return it
-        return new Search(tableConfig, interpreter, translator, exceptionHandler);
+        return new Search(tableConfig, interpreter, translator, exceptionHandler, rewriters, bulkConfig, limits,
+                costEstimator, costPolicy, batchExecutor);
     }
 }
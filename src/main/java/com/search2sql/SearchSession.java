@@ -0,0 +1,174 @@
+package com.search2sql;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.ExpressionInterpreter;
+import com.search2sql.impl.interpreter.util.Token;
+import com.search2sql.impl.translator.FileTranslator;
+import com.search2sql.query.BoundQuery;
+import com.search2sql.query.Query;
+import com.search2sql.query.SubQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This is a session of a search box whose search changes a little with every keystroke (search-as-you-type). It is
+ * started with {@link Search#newSession()}.
+ * <br><br>
+ * The session keeps the tokens and the parsed terms of the previous search. On every
+ * {@link SearchSession#update(CharSequence)} only the search after the first changed character is split again and
+ * only the new terms are parsed. If the structure of the query didn't change (same columns, types and operators),
+ * the sql of the previous search is reused and only the parameters are new.
+ * <br><br>
+ * This only works with the {@link ExpressionInterpreter}; with other interpreters every update interprets the whole
+ * search. The sql is only reused with the {@link FileTranslator}. A session belongs to one search box and isn't
+ * thread-safe.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public final class SearchSession {
+
+    private final Search search;
+
+    private String previous;
+    private List<Token> tokens = Collections.emptyList();
+    private Map<String, List<SubQuery>> terms = new HashMap<>();
+    private List<SubQuery> shape;
+    private String sql;
+
+    SearchSession(Search search) {
+        this.search = search;
+    }
+
+    /**
+     * This method binds the changed search (see {@link Search#bind(String)}). Only the changed part of the search is
+     * interpreted again.
+     *
+     * @param search current user search expression
+     * @return translated sql with its parameters
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     */
+    public BoundQuery update(CharSequence search) throws InvalidSearchException {
+        String current = search.toString();
+        Query query;
+
+        if (this.search.getInterpreter() instanceof ExpressionInterpreter) {
+            ExpressionInterpreter interpreter = (ExpressionInterpreter) this.search.getInterpreter();
+            List<Token> currentTokens = tokenize(interpreter, current);
+            Map<String, List<SubQuery>> currentTerms = new HashMap<>();
+
+            // only the terms of the current search are kept, so the map doesn't grow while typing
+            for (Token token : currentTokens) {
+                List<SubQuery> parsed = terms.get(token.getText());
+
+                if (parsed != null) {
+                    currentTerms.put(token.getText(), parsed);
+                }
+            }
+
+            terms = currentTerms;
+            query = this.search.interpret(current, budget -> interpreter.interpret(current,
+                    this.search.getTableConfig(), budget, currentTokens, currentTerms));
+        } else {
+            query = this.search.interpret(current);
+        }
+
+        // the sql only depends on the structure, so it is reused if the structure didn't change
+        if (!(this.search.getTranslator() instanceof FileTranslator) || !sameShape(query.getSubQueries())) {
+            String translated = this.search.getTranslator().translate(query);
+
+            this.search.getLimits().checkSqlLength(translated.length());
+
+            shape = copy(query.getSubQueries());
+            sql = translated;
+        }
+
+        return new BoundQuery(sql, BoundQuery.parametersOf(query));
+    }
+
+    private List<Token> tokenize(ExpressionInterpreter interpreter, String current) throws InvalidSearchException {
+        // tokens that end before the first change (and its delimiter) are still the same
+        int changed = previous == null ? 0 : commonPrefix(previous, current);
+        List<Token> currentTokens = new ArrayList<>();
+
+        for (Token token : tokens) {
+            if (token.getEnd() >= changed) {
+                break;
+            }
+
+            currentTokens.add(token);
+        }
+
+        int start = currentTokens.isEmpty() ? 0 : currentTokens.get(currentTokens.size() - 1).getEnd();
+
+        // forget the tokens if the search can't be split, so the next update starts from the beginning
+        previous = null;
+        tokens = Collections.emptyList();
+
+        currentTokens.addAll(interpreter.tokenize(current, start, search.getTableConfig()));
+
+        previous = current;
+        tokens = currentTokens;
+
+        return currentTokens;
+    }
+
+    private int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private boolean sameShape(List<SubQuery> subQueries) {
+        if (shape == null || shape.size() != subQueries.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < shape.size(); i++) {
+            SubQuery a = shape.get(i);
+            SubQuery b = subQueries.get(i);
+
+            if (!Objects.equals(a.getParserId(), b.getParserId()) || !Objects.equals(a.getType(), b.getType())
+                    || !Objects.equals(a.getColumnName(), b.getColumnName()) || size(a.getValue()) != size(b.getValue())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int size(Object value) {
+        // a list has one placeholder per element
+        return value instanceof Collection ? ((Collection<?>) value).size() : -1;
+    }
+
+    private List<SubQuery> copy(List<SubQuery> subQueries) {
+        List<SubQuery> copy = new ArrayList<>(subQueries.size());
+
+        for (SubQuery subQuery : subQueries) {
+            copy.add(new SubQuery(subQuery));
+        }
+
+        return copy;
+    }
+
+    /**
+     * Returns the search this session belongs to.
+     *
+     * @return search of this session
+     */
+    public Search getSearch() {
+        return search;
+    }
+}
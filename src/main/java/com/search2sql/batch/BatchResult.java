@@ -0,0 +1,74 @@
+package com.search2sql.batch;
+
+/**
+ * This is the result of a single search of a batch (see
+ * {@link com.search2sql.Search#bindAll(java.util.Collection) Search#bindAll(Collection)}). A failed search doesn't
+ * abort the batch; its error is saved in its result instead.
+ *
+ * @param <T> type of the value
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class BatchResult<T> {
+
+    private final int index;
+    private final String search;
+    private final T value;
+    private final Exception error;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param index position of the search in the batch
+     * @param search the search
+     * @param value result of the search (<code>null</code> if it failed)
+     * @param error error of the search (<code>null</code> if it succeeded)
+     */
+    public BatchResult(int index, String search, T value, Exception error) {
+        this.index = index;
+        this.search = search;
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Returns if the search succeeded.
+     *
+     * @return true if there's a value
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the error of the search. It is an {@link com.search2sql.exception.InvalidSearchException
+     * InvalidSearchException} if the search is invalid or a {@link RuntimeException} if the library is misused.
+     *
+     * @return error or <code>null</code>
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "index=" + index +
+                ", search='" + search + '\'' +
+                ", value=" + value +
+                ", error=" + error +
+                '}';
+    }
+}
@@ -0,0 +1,167 @@
+package com.search2sql.bulk;
+
+/**
+ * This class contains the configuration for searching a bulk list of keys with
+ * {@link com.search2sql.Search#prepareBulkStatement(java.io.Reader, java.sql.Connection, String, String, int)}.
+ * <br><br>
+ * A bulk list is used if every token of the search can be parsed by the parser of the key column as an equality
+ * (type <code>simple</code>) and there are at least as many tokens as the threshold. Otherwise the search is handled
+ * like every normal search. The key column should use a parser that parses equalities (e.g. <code>default.int</code>).
+ * <br><br>
+ * The sql pieces can be customized for other dialects. The placeholder <code>$</code> is replaced with the key column,
+ * <code>{table}</code> with the name of the temporary table, <code>{type}</code> with the sql type of the keys and
+ * <code>{values}</code> with one row per key. The parameter of a row is casted to the key type because some databases
+ * can't infer the type of parameters inside of a <code>VALUES</code> list.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class BulkConfig {
+
+    private final String keyColumn;
+    private final String keyType;
+    private final BulkMode mode;
+    private final int threshold;
+    private final int chunkSize;
+    private final int maxParameters;
+    private final String tableName;
+
+    private String rowTemplate = "(CAST(? AS {type}))";
+    private String valuesTemplate = "$ IN ( SELECT bulk_key FROM ( VALUES {values} ) AS bulk_values(bulk_key) )";
+    private String tableTemplate = "$ IN ( SELECT bulk_key FROM {table} )";
+    private String createTemplate = "CREATE TEMPORARY TABLE IF NOT EXISTS {table} ( bulk_key {type} )";
+    private String clearTemplate = "DELETE FROM {table}";
+    private String insertTemplate = "INSERT INTO {table} ( bulk_key ) VALUES ( ? )";
+
+    /**
+     * This constructor uses an inline <code>VALUES</code> list for at least 100 integer keys.
+     *
+     * @param keyColumn name of the column that contains the keys (with table prefix if needed)
+     */
+    public BulkConfig(String keyColumn) {
+        this(keyColumn, "INTEGER", BulkMode.VALUES, 100, 1000);
+    }
+
+    /**
+     * This is a basic constructor initializing values. The statement may have 32767 parameters at maximum and the
+     * temporary table is named <code>bulk_keys</code>.
+     *
+     * @param keyColumn name of the column that contains the keys (with table prefix if needed)
+     * @param keyType sql type of the keys (e.g. <code>INTEGER</code>)
+     * @param mode how the keys are handed over to the database
+     * @param threshold minimal number of keys that are handled as bulk list
+     * @param chunkSize number of keys inserted in one batch into the temporary table
+     */
+    public BulkConfig(String keyColumn, String keyType, BulkMode mode, int threshold, int chunkSize) {
+        this(keyColumn, keyType, mode, threshold, chunkSize, Short.MAX_VALUE, "bulk_keys");
+    }
+
+    /**
+     * This constructor defines everything.
+     *
+     * @param keyColumn name of the column that contains the keys (with table prefix if needed)
+     * @param keyType sql type of the keys (e.g. <code>INTEGER</code>)
+     * @param mode how the keys are handed over to the database
+     * @param threshold minimal number of keys that are handled as bulk list
+     * @param chunkSize number of keys inserted in one batch into the temporary table
+     * @param maxParameters maximal number of parameters the driver supports in one statement
+     * @param tableName name of the temporary table
+     */
+    public BulkConfig(String keyColumn, String keyType, BulkMode mode, int threshold, int chunkSize,
+                      int maxParameters, String tableName) {
+        this.keyColumn = keyColumn;
+        this.keyType = keyType;
+        this.mode = mode;
+        this.threshold = threshold;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxParameters = maxParameters;
+        this.tableName = tableName;
+    }
+
+    /**
+     * This method sets the sql pieces used for the bulk list (e.g. for another sql dialect).
+     *
+     * @param rowTemplate row of the <code>VALUES</code> list containing one key
+     * @param valuesTemplate predicate joining the <code>VALUES</code> list
+     * @param tableTemplate predicate joining the temporary table
+     * @param createTemplate statement creating the temporary table
+     * @param clearTemplate statement removing the keys of the previous search from the temporary table
+     * @param insertTemplate statement inserting one key into the temporary table
+     * @return this
+     */
+    public BulkConfig setTemplates(String rowTemplate, String valuesTemplate, String tableTemplate, String createTemplate,
+                                   String clearTemplate, String insertTemplate) {
+        this.rowTemplate = rowTemplate;
+        this.valuesTemplate = valuesTemplate;
+        this.tableTemplate = tableTemplate;
+        this.createTemplate = createTemplate;
+        this.clearTemplate = clearTemplate;
+        this.insertTemplate = insertTemplate;
+        return this;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public String getKeyType() {
+        return keyType;
+    }
+
+    public BulkMode getMode() {
+        return mode;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxParameters() {
+        return maxParameters;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getRowTemplate() {
+        return rowTemplate;
+    }
+
+    public String getValuesTemplate() {
+        return valuesTemplate;
+    }
+
+    public String getTableTemplate() {
+        return tableTemplate;
+    }
+
+    public String getCreateTemplate() {
+        return createTemplate;
+    }
+
+    public String getClearTemplate() {
+        return clearTemplate;
+    }
+
+    public String getInsertTemplate() {
+        return insertTemplate;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkConfig{" +
+                "keyColumn='" + keyColumn + '\'' +
+                ", keyType='" + keyType + '\'' +
+                ", mode=" + mode +
+                ", threshold=" + threshold +
+                ", chunkSize=" + chunkSize +
+                ", maxParameters=" + maxParameters +
+                ", tableName='" + tableName + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.search2sql.bulk;
+
+/**
+ * This enum defines how a bulk list of keys is handed over to the database.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public enum BulkMode {
+
+    /**
+     * The keys are bound as parameters of an inline <code>VALUES</code> list that is joined with the key column. If
+     * the list would exceed the maximal number of parameters, {@link BulkMode#TEMPORARY_TABLE} is used instead.
+     */
+    VALUES,
+
+    /**
+     * The keys are batch-loaded into a temporary table that is joined with the key column. The statement itself has
+     * no parameters for the keys at all.
+     */
+    TEMPORARY_TABLE
+}
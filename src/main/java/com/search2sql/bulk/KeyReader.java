@@ -0,0 +1,123 @@
+package com.search2sql.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * This is an utility that splits a bulk list of keys read from a {@link Reader} into its tokens without reading the
+ * whole input into one string first.
+ * <br><br>
+ * Tokens are separated by whitespaces, commas and semicolons because that's what pasted lists (from spreadsheets,
+ * emails, etc.) normally use. Separators inside quotes (<code>"</code> or <code>'</code>) don't split the token, so a
+ * quoted phrase is always one token. The reader keeps the last token as it was read (see {@link KeyReader#rest()}), so
+ * an input that turns out not to be a bulk list can be searched unchanged from that token on.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class KeyReader {
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    // the last token and the characters read after it
+    private final StringBuilder last = new StringBuilder();
+
+    private int position;
+    private int limit;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param reader reader that contains the keys
+     */
+    public KeyReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * This method reads the next token.
+     *
+     * @return next token or <code>null</code> if the end was reached
+     * @throws IOException thrown if the reader can't be read
+     */
+    public String next() throws IOException {
+        StringBuilder token = new StringBuilder();
+        char quote = 0;
+
+        while (fill()) {
+            char c = buffer[position++];
+
+            if (quote == 0 && isSeparator(c)) {
+                if (token.length() > 0) {
+                    last.append(c);
+
+                    return token.toString();
+                }
+
+                continue;
+            }
+
+            if (token.length() == 0) {
+                last.setLength(0);
+            }
+
+            if (c == quote) {
+                quote = 0;
+            } else if (quote == 0 && (c == '"' || c == '\'')) {
+                quote = c;
+            }
+
+            token.append(c);
+            last.append(c);
+        }
+
+        return token.length() > 0 ? token.toString() : null;
+    }
+
+    /**
+     * This method reads everything that wasn't read until now as it is.
+     *
+     * @return the rest of the input
+     * @throws IOException thrown if the reader can't be read
+     */
+    public String remaining() throws IOException {
+        StringBuilder rest = new StringBuilder();
+
+        while (fill()) {
+            rest.append(buffer, position, limit - position);
+
+            position = limit;
+        }
+
+        return rest.toString();
+    }
+
+    /**
+     * This method returns the last token and everything after it as it is, including the separators. The rest of
+     * the input is read for this.
+     *
+     * @return the last token and the rest of the input
+     * @throws IOException thrown if the reader can't be read
+     */
+    public String rest() throws IOException {
+        return last + remaining();
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+
+        // the buffer is empty, so read the next part
+        int read = reader.read(buffer, 0, buffer.length);
+
+        position = 0;
+        limit = Math.max(read, 0);
+
+        return read > 0;
+    }
+
+    private boolean isSeparator(char c) {
+        return Character.isWhitespace(c) || c == ',' || c == ';';
+    }
+}
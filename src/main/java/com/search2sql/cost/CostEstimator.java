@@ -0,0 +1,28 @@
+package com.search2sql.cost;
+
+import com.search2sql.query.Query;
+
+/**
+ * The <code>CostEstimator</code> estimates how expensive an interpreted {@link Query} will be for the database before
+ * it is executed.
+ * <br><br>
+ * The estimated cost is a relative score without unit. A cheap search (e.g. an equality on an indexed column) has a
+ * score near <code>1</code>, a search that makes the database read the whole table has a score of at least the cost of
+ * a table scan. The score is saved in the query ({@link Query#getCost()}) and can be checked by a {@link CostPolicy}.
+ * <br><br>
+ * <b>Known Implementations</b><br>
+ * {@link com.search2sql.impl.cost.TemplateCostEstimator com.search2sql.impl.cost.TemplateCostEstimator}
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public abstract class CostEstimator {
+
+    /**
+     * This method estimates the cost of the given query.
+     *
+     * @param query interpreted (and rewritten) query
+     * @return estimated cost
+     */
+    public abstract double estimate(Query query);
+}
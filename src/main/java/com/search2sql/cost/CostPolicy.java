@@ -0,0 +1,34 @@
+package com.search2sql.cost;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.query.Query;
+
+/**
+ * The <code>CostPolicy</code> decides what happens with a search after its cost was estimated by a
+ * {@link CostEstimator}. It is applied after all {@link com.search2sql.rewriter.Rewriter Rewriters} and before the
+ * search is translated.
+ * <br><br>
+ * A policy may
+ * <ul>
+ *     <li>reject the search by throwing an {@link InvalidSearchException},</li>
+ *     <li>change the query (e.g. drop the predicates on expensive columns) or</li>
+ *     <li>route the query to another executor by setting {@link Query#setRoute(String)}.</li>
+ * </ul>
+ * <b>Known Implementations</b><br>
+ * {@link com.search2sql.impl.cost.ThresholdCostPolicy com.search2sql.impl.cost.ThresholdCostPolicy}
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public abstract class CostPolicy {
+
+    /**
+     * This method applies the policy to the given query. The estimated cost was already saved in the query.
+     *
+     * @param query interpreted query with its estimated cost
+     * @param estimator estimator that estimated the cost (to re-estimate a changed query)
+     * @return accepted (maybe changed) query
+     * @throws InvalidSearchException thrown if the search is rejected
+     */
+    public abstract Query apply(Query query, CostEstimator estimator) throws InvalidSearchException;
+}
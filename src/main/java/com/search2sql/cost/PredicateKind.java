@@ -0,0 +1,67 @@
+package com.search2sql.cost;
+
+/**
+ * This enum defines the kind of a translated predicate. The kind decides how expensive a predicate is for the
+ * database.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public enum PredicateKind {
+
+    /**
+     * The column is compared with one or more values (<code>=</code>, <code>IN</code>, <code>ANY</code>).
+     */
+    EQUALITY,
+
+    /**
+     * The column is compared with a minimal and/or maximal value.
+     */
+    RANGE,
+
+    /**
+     * The column must start with the value (<code>LIKE 'value%'</code>).
+     */
+    PREFIX,
+
+    /**
+     * The value may be anywhere in the column (<code>LIKE '%value%'</code>). No index can be used.
+     */
+    CONTAINS,
+
+    /**
+     * The value is searched with the full-text search of the database.
+     */
+    FULL_TEXT;
+
+    /**
+     * This method finds the kind of a sub-query by its type and value. The types of the provided parsers are
+     * recognized; every unknown type is treated as {@link PredicateKind#EQUALITY}.
+     *
+     * @param parserId id of the parser that generated the sub-query
+     * @param type type of the sub-query
+     * @param value value of the sub-query
+     * @return kind of the predicate
+     */
+    public static PredicateKind of(String parserId, String type, Object value) {
+        String lower = type == null ? "" : type.toLowerCase();
+
+        if (lower.startsWith("range")) {
+            return RANGE;
+        } else if (lower.endsWith(".exact") || lower.equals("in") || lower.equals("any")) {
+            return EQUALITY;
+        } else if (lower.endsWith(".prefix")) {
+            return PREFIX;
+        } else if (lower.endsWith(".fulltext")) {
+            return FULL_TEXT;
+        } else if (lower.endsWith(".wildcard")) {
+            // the wildcards of the user decide if an index can be used
+            return value instanceof String && ((String) value).startsWith("%") ? CONTAINS : PREFIX;
+        } else if ("default.text".equals(parserId)) {
+            // the default mode of the text parser
+            return CONTAINS;
+        }
+
+        return EQUALITY;
+    }
+}
@@ -1,5 +1,9 @@
 package com.search2sql.exception;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * <code>InvalidSearchException</code> is thrown if any error occurred that affects the end-user.
  * <br><br>
@@ -9,13 +13,24 @@ package com.search2sql.exception;
  * This exception provides an unique error code and an (not yet i18n) string that is provided by the library.
  * <br><br>
  * <i>In case the end-user can't fix the exception</i> the {@link IllegalUseException} should be used.
+ * <br><br>
+ * Invalid searches are common, so this exception doesn't fill in a stack trace; it only describes the search, not
+ * the code. It optionally knows the position in the search where the error occurred and all other errors if an
+ * interpreter collected them (see {@link InvalidSearchException#getErrors()}).
  *
  * @author fuggerjaki61
  * @since 1.0-echo
  */
 public class InvalidSearchException extends Exception {
 
+    /**
+     * This is the position of an error whose position in the search is unknown.
+     */
+    public static final int NO_POSITION = -1;
+
     private final int errorCode;
+    private final int position;
+    private final List<SearchError> errors;
 
     /**
      * This is a basic constructor initializing values.
@@ -23,7 +38,36 @@ public class InvalidSearchException extends Exception {
      * @param errorCode unique error code
      */
     public InvalidSearchException(int errorCode) {
+        this(errorCode, NO_POSITION);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param errorCode unique error code
+     * @param position index of the character in the search where the error occurred
+     */
+    public InvalidSearchException(int errorCode, int position) {
+        // no stack trace and no suppressed exceptions; both are only overhead for errors of the user
+        super(null, null, false, false);
+
         this.errorCode = errorCode;
+        this.position = position;
+        this.errors = null;
+    }
+
+    /**
+     * This constructor is used if all errors of a search were collected. The first error is the one returned by
+     * {@link InvalidSearchException#getErrorCode()} and {@link InvalidSearchException#getPosition()}.
+     *
+     * @param errors all errors in the order they occurred (at least one)
+     */
+    public InvalidSearchException(List<SearchError> errors) {
+        super(null, null, false, false);
+
+        this.errorCode = errors.get(0).getErrorCode();
+        this.position = errors.get(0).getPosition();
+        this.errors = Collections.unmodifiableList(new ArrayList<>(errors));
     }
 
     /**
@@ -35,6 +79,24 @@ public class InvalidSearchException extends Exception {
         return errorCode;
     }
 
+    /**
+     * This method returns the position in the search where the error occurred.
+     *
+     * @return index of the character or {@link InvalidSearchException#NO_POSITION} if the position is unknown
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * This method returns all errors of the search. Without collecting the errors, this is only this error.
+     *
+     * @return unmodifiable list of the errors in the order they occurred
+     */
+    public List<SearchError> getErrors() {
+        return errors != null ? errors : Collections.singletonList(new SearchError(errorCode, position));
+    }
+
     /**
      * This method returns the error code in form of a hexadecimal string.
      * <br><br>
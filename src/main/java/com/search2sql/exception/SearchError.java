@@ -0,0 +1,84 @@
+package com.search2sql.exception;
+
+import java.util.Objects;
+
+/**
+ * This is a single error of a search expression: its error code and the position in the search where it occurred.
+ * Unlike the {@link InvalidSearchException} it is a plain value that can be returned instead of thrown (e.g. by
+ * {@link com.search2sql.Search#tryBind(String) Search.tryBind(String)}).
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class SearchError {
+
+    /**
+     * This is the result of a valid search (see {@link com.search2sql.Search#validate(CharSequence)
+     * Search.validate(CharSequence)}). It is shared, so validating a valid search doesn't create anything. Its error
+     * code is <code>-1</code>.
+     */
+    public static final SearchError VALID = new SearchError(-1, InvalidSearchException.NO_POSITION);
+
+    private final int errorCode;
+    private final int position;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param errorCode unique error code
+     * @param position index of the character in the search where the error occurred or
+     *                 {@link InvalidSearchException#NO_POSITION}
+     */
+    public SearchError(int errorCode, int position) {
+        this.errorCode = errorCode;
+        this.position = position;
+    }
+
+    /**
+     * Returns the error code.
+     *
+     * @return unique error code
+     */
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Returns the position in the search where the error occurred.
+     *
+     * @return index of the character or {@link InvalidSearchException#NO_POSITION} if the position is unknown
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns true if this is {@link SearchError#VALID}.
+     *
+     * @return true if the search is valid
+     */
+    public boolean isValid() {
+        return this == VALID;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SearchError that = (SearchError) o;
+        return errorCode == that.errorCode && position == that.position;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(errorCode, position);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchError{" +
+                "errorCode=" + errorCode +
+                ", position=" + position +
+                '}';
+    }
+}
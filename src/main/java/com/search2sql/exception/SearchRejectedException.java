@@ -0,0 +1,34 @@
+package com.search2sql.exception;
+
+import java.sql.SQLTransientException;
+
+/**
+ * <code>SearchRejectedException</code> is thrown if a search wasn't executed because the database is at its
+ * concurrency limit and the search waited longer than allowed in the queue (see
+ * {@link com.search2sql.execution.AdaptiveExecutor AdaptiveExecutor}). The search itself is valid and may succeed
+ * when it is retried later, e.g. the end-user could be asked to try again.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class SearchRejectedException extends SQLTransientException {
+
+    private final String tenant;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param tenant tenant whose search was rejected
+     * @param waitedMillis time the search waited in the queue in milliseconds
+     */
+    public SearchRejectedException(String tenant, long waitedMillis) {
+        super(String.format("The search of the tenant '%s' was rejected after waiting %d ms for the database.",
+                tenant, waitedMillis));
+
+        this.tenant = tenant;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+}
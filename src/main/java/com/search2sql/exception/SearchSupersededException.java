@@ -0,0 +1,24 @@
+package com.search2sql.exception;
+
+import java.sql.SQLException;
+
+/**
+ * <code>SearchSupersededException</code> is thrown if a search was cancelled because a newer search of the same
+ * session arrived (see {@link com.search2sql.execution.SessionExecutor SessionExecutor}). Its result isn't needed
+ * anymore, so it should simply be ignored and not shown to the end-user.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class SearchSupersededException extends SQLException {
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param sessionKey key of the session whose search was superseded
+     * @param cause exception of the driver if the running statement was cancelled (may be <code>null</code>)
+     */
+    public SearchSupersededException(String sessionKey, Throwable cause) {
+        super(String.format("The search of the session '%s' was superseded by a newer one.", sessionKey), cause);
+    }
+}
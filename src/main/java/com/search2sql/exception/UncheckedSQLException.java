@@ -0,0 +1,29 @@
+package com.search2sql.exception;
+
+import java.sql.SQLException;
+
+/**
+ * <code>UncheckedSQLException</code> wraps a {@link SQLException} that occurred where no checked exception can be
+ * thrown, e.g. while a {@link java.util.stream.Stream Stream} of rows is consumed (see
+ * {@link com.search2sql.Search#stream(String, java.sql.Connection, String, String, com.search2sql.execution.RowMapper)
+ * Search.stream(...)}).
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param cause wrapped exception
+     */
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
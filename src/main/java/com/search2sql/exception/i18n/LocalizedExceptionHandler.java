@@ -3,7 +3,13 @@ package com.search2sql.exception.i18n;
 import com.search2sql.exception.IllegalUseException;
 
 import java.io.IOException;
-import java.util.*;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
 
 /**
  * The <code>LocalizedExceptionHandler</code> is an implementation of the {@link ExceptionHandler}. This implementation
@@ -13,7 +19,11 @@ import java.util.*;
  * the next one as a fallback. If the fallback doesn't exists, it takes the next fallback and so on.
  * <br><br>
  * This <code>ExceptionHandler</code> loads the messages from the <code>.properties</code> files located under
- * <code>src/main/resources/i18n/exceptions_{locale}.properties</code>.
+ * <code>src/main/resources/i18n/exceptions_{locale}.properties</code>. A locale without such a file is skipped.
+ * <br><br>
+ * All files are loaded once while constructing the handler and the fallbacks are resolved right away into one
+ * immutable table of messages. So {@link LocalizedExceptionHandler#handle(int)} is just a lookup in an array and the
+ * handler can be shared by all threads.
  * <br><br>
  * The most confusing about this class might be the different constructors. This list should explain the usage of each:
  * <ul>
@@ -41,8 +51,9 @@ import java.util.*;
  */
 public class LocalizedExceptionHandler extends ExceptionHandler {
 
-    private int currentLocale;
-    private final LinkedList<Locale> locales;
+    private final List<Locale> locales;
+    private final String[] messages;
+    private final String defaultMessage;
 
     /**
      * This constructor sets the system's locale as the default and sets english as the only fallback.
@@ -80,84 +91,109 @@ public class LocalizedExceptionHandler extends ExceptionHandler {
     }
 
     private LocalizedExceptionHandler(List<Locale> languages) {
-        this.locales = new LinkedList<>(languages);
+        this.locales = Collections.unmodifiableList(new ArrayList<>(languages));
+
+        // load the files of all locales in the order of the fallbacks
+        List<Properties> files = new ArrayList<>();
+        int maxCode = 0;
+
+        for (Locale locale : locales) {
+            Properties properties = load(locale);
+
+            if (properties == null) {
+                continue;
+            }
+
+            files.add(properties);
+
+            for (String key : properties.stringPropertyNames()) {
+                maxCode = Math.max(maxCode, parseCode(key));
+            }
+        }
+
+        if (files.isEmpty()) {
+            throw new IllegalUseException(String.format("None of the locales %s has a file named " +
+                    "'exceptions_{language}.properties' in the 'i18n' folder in the resources.", locales));
+        }
+
+        // resolve every code to the message of the first locale that translated it
+        String[] table = new String[maxCode + 1];
+
+        for (int code = 0; code < table.length; code++) {
+            for (Properties properties : files) {
+                table[code] = properties.getProperty(String.valueOf(code));
+
+                if (table[code] != null) {
+                    break;
+                }
+            }
+        }
+
+        // codes that weren't translated in any language get the message of the error code 0
+        for (int code = 0; code < table.length; code++) {
+            if (table[code] == null) {
+                table[code] = table[0];
+            }
+        }
+
+        this.messages = table;
+        this.defaultMessage = table[0];
     }
 
     /**
-     * This method tries to load the message for the given error code in the desired language. If the message wasn't translated
+     * This method returns the message for the given error code in the desired language. If the message wasn't translated
      * for the desired language, a fallback is used (if specified). If the message still wasn't translated for the fallback,
      * the next fallback is used (if specified) and then so on. If the message wasn't translated in any specified language, the error code
-     * <code>0</code> message is loaded in the desired language. If it wasn't added in the desired language, the fallbacks are
+     * <code>0</code> message is returned in the desired language. If it wasn't added in the desired language, the fallbacks are
      * used. Finally, if nothing was found <code>null</code> is returned.
+     * <br><br>
+     * The fallbacks were already resolved while constructing the handler, so this method doesn't load anything.
      *
      * @param errorCode code that identifies the message
      * @return localized message for the given code
      */
     @Override
     public String handle(int errorCode) {
-        // reset the current locale
-        currentLocale = 0;
+        return errorCode >= 0 && errorCode < messages.length ? messages[errorCode] : defaultMessage;
+    }
 
-        // try to load the message for the given error code and the desired language
-        String msg = handle(errorCode, locales.getFirst());
+    /**
+     * Returns the default locale and its fallbacks.
+     *
+     * @return unmodifiable list of the locales in the order they are used
+     */
+    public List<Locale> getLocales() {
+        return locales;
+    }
 
-        // check if the message is translated in any language
-        if (msg == null) {
-            // it isn't so the message for the error code 0 is loaded in the desired language
-            msg = handle(0, locales.getFirst());
+    private Properties load(Locale locale) {
+        // construct the path
+        String location = "i18n/exceptions_" + locale.getLanguage() + ".properties";
 
-            // if the message is still null, null will be returned because nothing else can be done
-        }
+        try (InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(location)) {
+            // the locale isn't translated, so the next fallback is used
+            if (stream == null) {
+                return null;
+            }
 
-        // return the loaded message
-        return msg;
-    }
+            Properties properties = new Properties();
 
-    private String handle(int errorCode, Locale locale) {
-        // initialize the properties
-        Properties properties = new Properties();
+            properties.load(stream);
 
-        try {
-            // construct the path
-            String location = "i18n/exceptions_" + locale.getLanguage() + ".properties";
-
-            // try to load the file for the generated path
-            properties.load(Thread.currentThread().getContextClassLoader().getResourceAsStream(location));
+            return properties;
         } catch (IOException e) {
             // throw an IllegalUseException
-            throw new IllegalUseException(String.format("The locale '%s' was specified even though no file with the" +
-                    "name 'exceptions_%s.properties' exists in the 'i18n' folder in the resources.", locale.getLanguage(), locale.getLanguage()), e);
-        }
-
-        // get the message for the error code
-        String msg = properties.getProperty(String.valueOf(errorCode));
-
-        // already get the next fallback
-        Locale next = nextLocale();
-
-        if (msg == null && next != null) {
-            // the message is still null and the next fallback is used
-            return handle(errorCode, next);
-        } else {
-            /*
-             * the message still might be null but so is the next locale
-             * nothing can be done anymore so must null be returned if no value was found
-             */
-            return msg;
+            throw new IllegalUseException(String.format("There was a problem while loading the file " +
+                    "'exceptions_%s.properties' in the 'i18n' folder in the resources.", locale.getLanguage()), e);
         }
     }
 
-    private Locale nextLocale() {
-        // increment to get the next locale
-        currentLocale++;
-
-        // check if there is a next locale
-        if (currentLocale >= locales.size()) {
-            // the end of the list was reached and null is returned
-            return null;
+    private int parseCode(String key) {
+        try {
+            return Integer.parseInt(key.trim());
+        } catch (NumberFormatException e) {
+            // keys that aren't error codes are ignored
+            return 0;
         }
-
-        // there is still a next locale so it is returned
-        return locales.get(currentLocale);
     }
 }
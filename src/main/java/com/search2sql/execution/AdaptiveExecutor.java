@@ -0,0 +1,361 @@
+package com.search2sql.execution;
+
+import com.search2sql.Search;
+import com.search2sql.exception.IllegalUseException;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.exception.SearchRejectedException;
+import com.search2sql.query.BoundQuery;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This executes searches with an adaptive limit of concurrent executions, so the searches don't pile up on the
+ * database when it slows down. It is built on top of a {@link Search} and takes the connections from a
+ * {@link DataSource}.
+ * <br><br>
+ * The limit follows the latency of the database (additive increase, multiplicative decrease): as long as the
+ * executions aren't much slower than the fastest recent execution, the limit grows by one; when they get slower than
+ * {@link AdaptiveExecutor#LATENCY_TOLERANCE} times the fastest one or the driver reports a transient error (e.g. a
+ * timeout), the limit shrinks by {@link AdaptiveExecutor#DECREASE_FACTOR}. Only successful executions are measured;
+ * any other failure (e.g. an error of the mapper) just frees its slot, because its latency says nothing about the
+ * database.
+ * <br><br>
+ * Searches over the limit wait in a queue that is fair between tenants: every tenant gets a share of the executions
+ * in proportion to its weight (default <code>1</code>), so one tenant with many searches can't starve the others.
+ * A search that waited longer than the queue timeout is rejected with a {@link SearchRejectedException}.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class AdaptiveExecutor {
+
+    /**
+     * This is the factor of the fastest recent latency above which the database is seen as overloaded.
+     */
+    public static final double LATENCY_TOLERANCE = 2.0;
+
+    /**
+     * This is the factor the limit is multiplied with when the database is overloaded.
+     */
+    public static final double DECREASE_FACTOR = 0.9;
+
+    private final Search search;
+    private final DataSource dataSource;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long queueTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+    private final Map<String, Tenant> tenants = new HashMap<>();
+    private final ConcurrentMap<String, Integer> weights = new ConcurrentHashMap<>();
+
+    // guarded by the lock
+    private double limit;
+    private int inFlight;
+    private double virtualTime;
+    private long sequence;
+    private long fastestNanos;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * This constructor initializes an executor whose limit starts at the minimum.
+     *
+     * @param search search that translates the search expressions
+     * @param dataSource source of the connections
+     * @param minLimit minimum count of concurrent executions
+     * @param maxLimit maximum count of concurrent executions
+     * @param queueTimeout time a search may wait for an execution slot
+     * @param unit unit of the queue timeout
+     */
+    public AdaptiveExecutor(Search search, DataSource dataSource, int minLimit, int maxLimit, long queueTimeout,
+                            TimeUnit unit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalUseException(String.format("The limits %d to %d are not valid.", minLimit, maxLimit));
+        }
+
+        this.search = search;
+        this.dataSource = dataSource;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueTimeoutNanos = unit.toNanos(queueTimeout);
+        this.limit = minLimit;
+    }
+
+    /**
+     * This method sets the weight of the tenant. A tenant with weight <code>2</code> gets twice as many executions as
+     * a tenant with weight <code>1</code> while both have searches waiting.
+     *
+     * @param tenant tenant to set the weight for
+     * @param weight positive weight
+     */
+    public void setWeight(String tenant, int weight) {
+        if (weight < 1) {
+            throw new IllegalUseException(String.format("The weight %d of the tenant '%s' is not positive.", weight, tenant));
+        }
+
+        weights.put(tenant, weight);
+    }
+
+    /**
+     * This method executes the search as soon as the limit allows it.
+     *
+     * @param tenant tenant the search belongs to
+     * @param search user search expression
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param mapper mapper of the rows
+     * @param <T> type of the mapped rows
+     * @return all mapped rows
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     * @throws SearchRejectedException thrown if the search waited longer than the queue timeout
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     * @throws InterruptedException thrown if the thread was interrupted while waiting in the queue
+     */
+    public <T> List<T> execute(String tenant, String search, String queryPrefix, String querySuffix,
+                               RowMapper<T> mapper) throws InvalidSearchException, SQLException, InterruptedException {
+        // invalid searches are rejected before they take a slot
+        BoundQuery query = this.search.bind(search);
+
+        acquire(tenant);
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.FAILED;
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = this.search.prepareStatement(query, connection, queryPrefix, querySuffix, 1);
+             ResultSet rs = ps.executeQuery()) {
+            List<T> results = new ArrayList<>();
+
+            while (rs.next()) {
+                results.add(mapper.map(rs));
+            }
+
+            outcome = Outcome.SUCCEEDED;
+
+            return results;
+        } catch (SQLTransientException e) {
+            // timeouts and lost connections are a sign of an overloaded database
+            outcome = Outcome.OVERLOADED;
+
+            throw e;
+        } finally {
+            release(System.nanoTime() - start, outcome);
+        }
+    }
+
+    private void acquire(String tenant) throws SearchRejectedException, InterruptedException {
+        long start = System.nanoTime();
+
+        lock.lock();
+
+        try {
+            if (queue.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+
+                return;
+            }
+
+            Tenant state = tenants.computeIfAbsent(tenant, Tenant::new);
+            // the tag is the virtual finish time of the search; a higher weight advances it slower
+            double tag = Math.max(virtualTime, state.finish) + 1.0 / weights.getOrDefault(tenant, 1);
+            Waiter waiter = new Waiter(tag, sequence++, lock.newCondition());
+
+            state.finish = tag;
+            state.waiting++;
+            queue.add(waiter);
+
+            long remaining = queueTimeoutNanos;
+
+            try {
+                while (!waiter.granted) {
+                    if (remaining <= 0) {
+                        queue.remove(waiter);
+                        rejected.incrementAndGet();
+
+                        throw new SearchRejectedException(tenant,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // the slot was already handed over, so it must be given back
+                    inFlight--;
+                    dispatch();
+                } else {
+                    queue.remove(waiter);
+                }
+
+                throw e;
+            } finally {
+                leave(state);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long latencyNanos, Outcome outcome) {
+        lock.lock();
+
+        try {
+            inFlight--;
+
+            if (outcome == Outcome.SUCCEEDED) {
+                // the fastest latency slowly drifts up, so it follows a database that permanently got slower
+                fastestNanos = fastestNanos == 0 ? latencyNanos : Math.min(latencyNanos, fastestNanos + fastestNanos / 64);
+            }
+
+            if (outcome == Outcome.OVERLOADED
+                    || (outcome == Outcome.SUCCEEDED && latencyNanos > LATENCY_TOLERANCE * fastestNanos)) {
+                limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+            } else if (outcome == Outcome.SUCCEEDED && inFlight + 1 >= (int) limit) {
+                // the limit only grows while it is used
+                limit = Math.min(maxLimit, limit + 1);
+            }
+
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        while (inFlight < (int) limit && !queue.isEmpty()) {
+            Waiter waiter = queue.poll();
+
+            virtualTime = waiter.tag;
+            waiter.granted = true;
+            inFlight++;
+
+            waiter.condition.signal();
+        }
+    }
+
+    private void leave(Tenant state) {
+        state.waiting--;
+
+        // tenants without waiting searches and without advance over the others are forgotten
+        if (state.waiting == 0 && state.finish <= virtualTime) {
+            tenants.remove(state.name);
+        }
+    }
+
+    /**
+     * Returns the current limit of concurrent executions.
+     *
+     * @return current limit
+     */
+    public int getLimit() {
+        lock.lock();
+
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the count of running executions.
+     *
+     * @return count of running executions
+     */
+    public int getInFlight() {
+        lock.lock();
+
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the count of searches waiting for an execution slot.
+     *
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        lock.lock();
+
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the count of searches that were rejected because they waited too long.
+     *
+     * @return count of rejected searches
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    private enum Outcome {
+        SUCCEEDED, FAILED, OVERLOADED
+    }
+
+    private static class Tenant {
+
+        private final String name;
+        private double finish;
+        private int waiting;
+
+        private Tenant(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class Waiter implements Comparable<Waiter> {
+
+        private final double tag;
+        private final long sequence;
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(double tag, long sequence, Condition condition) {
+            this.tag = tag;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int compare = Double.compare(tag, other.tag);
+
+            // equal tags are served in order of arrival
+            return compare != 0 ? compare : Long.compare(sequence, other.sequence);
+        }
+    }
+}
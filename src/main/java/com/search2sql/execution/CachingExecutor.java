@@ -0,0 +1,140 @@
+package com.search2sql.execution;
+
+import com.search2sql.Search;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.query.Query;
+import com.search2sql.query.expression.Canonicalizer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This executes searches and caches their materialized rows in a {@link ResultCache}. It is built on top of a
+ * {@link Search} and takes the connections from a {@link DataSource}.
+ * <br><br>
+ * The results are cached by the fingerprint of the canonical form of the interpreted query (see
+ * {@link Canonicalizer}), so searches that only differ in the order of their terms, their whitespace, the case of the
+ * keywords or duplicated terms share one entry (e.g. <i>foo bar</i> and <i>bar  foo</i>). The canonical form itself
+ * is compared too, so two searches with the same fingerprint never share rows by accident. Prefix, suffix and
+ * {@link RowMapper} are part of the key, so the callers should use the same mapper instance (e.g. a constant) for the
+ * same kind of rows.
+ * <br><br>
+ * Because the operands may be in another order, the cached rows of a search without <code>ORDER BY</code> may be in
+ * another order than the database would return them.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class CachingExecutor {
+
+    private final Search search;
+    private final DataSource dataSource;
+    private final ResultCache cache;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param search search that translates the search expressions
+     * @param dataSource source of the connections
+     * @param cache cache of the results (may be shared by several executors)
+     */
+    public CachingExecutor(Search search, DataSource dataSource, ResultCache cache) {
+        this.search = search;
+        this.dataSource = dataSource;
+        this.cache = cache;
+    }
+
+    /**
+     * This method returns the cached rows of the search or executes it and caches the rows.
+     *
+     * @param search user search expression
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param mapper mapper of the rows
+     * @param tables tables the query reads from; the result is removed when one of them is invalidated
+     * @param <T> type of the mapped rows
+     * @return unmodifiable list of all mapped rows, possibly shared with other callers
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> execute(String search, String queryPrefix, String querySuffix, RowMapper<T> mapper,
+                               String... tables) throws InvalidSearchException, SQLException {
+        Query query = this.search.interpret(search);
+        Key key = new Key(Canonicalizer.canonicalForm(query), queryPrefix, querySuffix, mapper);
+        List<T> cached = (List<T>) cache.get(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        // taken before reading, so a change during the execution isn't cached
+        long stamp = cache.stamp();
+        List<T> rows = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = this.search.prepareStatement(query, connection, queryPrefix, querySuffix, 1);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.add(mapper.map(rs));
+            }
+        }
+
+        rows = Collections.unmodifiableList(rows);
+
+        cache.put(key, rows, Arrays.asList(tables), stamp);
+
+        return rows;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public ResultCache getCache() {
+        return cache;
+    }
+
+    private static class Key {
+
+        private final long fingerprint;
+        private final String canonicalForm;
+        private final String queryPrefix;
+        private final String querySuffix;
+        private final RowMapper<?> mapper;
+
+        private Key(String canonicalForm, String queryPrefix, String querySuffix, RowMapper<?> mapper) {
+            this.fingerprint = Canonicalizer.fingerprint(canonicalForm);
+            this.canonicalForm = canonicalForm;
+            this.queryPrefix = queryPrefix;
+            this.querySuffix = querySuffix;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return fingerprint == key.fingerprint && canonicalForm.equals(key.canonicalForm)
+                    && queryPrefix.equals(key.queryPrefix) && querySuffix.equals(key.querySuffix) && mapper == key.mapper;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fingerprint, queryPrefix, querySuffix, System.identityHashCode(mapper));
+        }
+    }
+}
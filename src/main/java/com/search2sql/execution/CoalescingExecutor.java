@@ -0,0 +1,261 @@
+package com.search2sql.execution;
+
+import com.search2sql.Search;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.query.BoundQuery;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This executes searches so that identical searches running at the same time share one database execution (single
+ * flight). It is built on top of a {@link Search} and takes the connections from a {@link DataSource}.
+ * <br><br>
+ * Two executions are identical if the final sql (including prefix and suffix), the parameter values and the
+ * {@link RowMapper} are equal. The first execution runs the statement and materializes the rows; all identical
+ * executions that arrive while it is running wait for it and get the same (unmodifiable) list. After the execution
+ * completed, the list is reused for the configured reuse window, so a burst of identical searches (e.g. many users
+ * searching the same ticket number during an incident) only hits the database once per window. A failed execution is
+ * never reused; every waiting caller gets the error.
+ * <br><br>
+ * The mapper is part of the key because the rows are shared in their mapped form, so the callers should use the same
+ * mapper instance (e.g. a constant) for the same kind of rows.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class CoalescingExecutor {
+
+    private final Search search;
+    private final DataSource dataSource;
+    private final long reuseNanos;
+
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * This constructor initializes an executor that only shares running executions (no reuse window).
+     *
+     * @param search search that translates the search expressions
+     * @param dataSource source of the connections
+     */
+    public CoalescingExecutor(Search search, DataSource dataSource) {
+        this(search, dataSource, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param search search that translates the search expressions
+     * @param dataSource source of the connections
+     * @param reuseWindow time the rows of a completed execution are reused
+     * @param unit unit of the reuse window
+     */
+    public CoalescingExecutor(Search search, DataSource dataSource, long reuseWindow, TimeUnit unit) {
+        this.search = search;
+        this.dataSource = dataSource;
+        this.reuseNanos = Math.max(0, unit.toNanos(reuseWindow));
+    }
+
+    /**
+     * This method executes the search or waits for an identical execution that is running or was completed within the
+     * reuse window.
+     *
+     * @param search user search expression
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param mapper mapper of the rows
+     * @param <T> type of the mapped rows
+     * @return unmodifiable list of all mapped rows, possibly shared with other callers
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     * @throws InterruptedException thrown if the thread was interrupted while waiting for an identical execution
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> execute(String search, String queryPrefix, String querySuffix, RowMapper<T> mapper)
+            throws InvalidSearchException, SQLException, InterruptedException {
+        BoundQuery query = this.search.bind(search);
+        Key key = new Key(queryPrefix, querySuffix, query, mapper);
+
+        while (true) {
+            Flight flight = flights.get(key);
+
+            if (flight == null) {
+                Flight own = new Flight();
+
+                if (flights.putIfAbsent(key, own) == null) {
+                    return (List<T>) run(key, own, query, queryPrefix, querySuffix, mapper);
+                }
+            } else if (flight.isExpired(System.nanoTime())) {
+                // an expired flight is replaced, so only one caller executes the search again
+                Flight own = new Flight();
+
+                if (flights.replace(key, flight, own)) {
+                    return (List<T>) run(key, own, query, queryPrefix, querySuffix, mapper);
+                }
+            } else {
+                shared.incrementAndGet();
+
+                return (List<T>) await(flight);
+            }
+        }
+    }
+
+    private List<?> run(Key key, Flight flight, BoundQuery query, String queryPrefix, String querySuffix,
+                        RowMapper<?> mapper) throws SQLException {
+        executions.incrementAndGet();
+
+        sweep();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = search.prepareStatement(query, connection, queryPrefix, querySuffix, 1);
+             ResultSet rs = ps.executeQuery()) {
+            List<Object> rows = new ArrayList<>();
+
+            while (rs.next()) {
+                rows.add(mapper.map(rs));
+            }
+
+            List<Object> result = Collections.unmodifiableList(rows);
+
+            flight.complete(result);
+
+            if (reuseNanos == 0) {
+                flights.remove(key, flight);
+            }
+
+            return result;
+        } catch (Throwable e) {
+            // failures are never reused; this includes Errors of the mapper, otherwise the waiting callers would hang
+            flights.remove(key, flight);
+            flight.rows.completeExceptionally(e);
+
+            throw e;
+        }
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        long last = lastSweepNanos.get();
+
+        // expired flights are replaced lazily per key; the flights nobody asked for again are removed at most once
+        // per reuse window, so a burst of searches doesn't scan the map on every execution
+        if (reuseNanos == 0 || now - last < reuseNanos || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+
+        flights.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    private List<?> await(Flight flight) throws SQLException, InterruptedException {
+        try {
+            return flight.rows.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            // the error of the shared execution is wrapped, so the stack trace of this caller isn't lost
+            if (cause instanceof SQLException) {
+                SQLException error = (SQLException) cause;
+
+                throw new SQLException(error.getMessage(), error.getSQLState(), error.getErrorCode(), error);
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw (RuntimeException) cause;
+        }
+    }
+
+    /**
+     * Returns the count of executions that ran on the database.
+     *
+     * @return count of executions
+     */
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    /**
+     * Returns the count of executions that got the rows of an identical execution instead of running on the database.
+     *
+     * @return count of shared executions
+     */
+    public long getShared() {
+        return shared.get();
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public long getReuseWindow(TimeUnit unit) {
+        return unit.convert(reuseNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private class Flight {
+
+        private final CompletableFuture<List<?>> rows = new CompletableFuture<>();
+        private volatile long completedNanos;
+
+        private void complete(List<?> result) {
+            completedNanos = System.nanoTime();
+            rows.complete(result);
+        }
+
+        private boolean isExpired(long now) {
+            // a running flight never expires
+            return rows.isDone() && (rows.isCompletedExceptionally() || now - completedNanos >= reuseNanos);
+        }
+    }
+
+    private static class Key {
+
+        private final String queryPrefix;
+        private final String querySuffix;
+        private final BoundQuery query;
+        private final RowMapper<?> mapper;
+
+        private Key(String queryPrefix, String querySuffix, BoundQuery query, RowMapper<?> mapper) {
+            this.queryPrefix = queryPrefix;
+            this.querySuffix = querySuffix;
+            this.query = query;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return queryPrefix.equals(key.queryPrefix) && querySuffix.equals(key.querySuffix)
+                    && query.equals(key.query) && mapper == key.mapper;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queryPrefix, querySuffix, query, System.identityHashCode(mapper));
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.search2sql.execution;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * This is a bounded cache of materialized search results (see {@link CachingExecutor}).
+ * <br><br>
+ * Every entry expires after the time to live. The cache is bounded by the total weight of its entries; the weight of
+ * an entry is computed by the weigher (by default the count of rows plus one) and the least recently used entries are
+ * evicted first when the maximum is exceeded.
+ * <br><br>
+ * Every entry knows the tables its rows were read from. After the application changed a table, it should call
+ * {@link ResultCache#invalidate(String)} so all entries of that table are removed. A result that was read while its
+ * table was invalidated isn't cached, because it may already be stale. For this the reader takes a
+ * {@link ResultCache#stamp() stamp} before reading and passes it to {@link ResultCache#put(Object, List, Collection, long)}.
+ * <br><br>
+ * The cache is thread-safe; all methods lock the cache for a short time.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class ResultCache {
+
+    private final long maxWeight;
+    private final long timeToLiveNanos;
+    private final ToLongFunction<List<?>> weigher;
+
+    // guarded by this; in the order of access, so the first entry is the least recently used
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<Object>> tables = new HashMap<>();
+    private final Map<String, Long> invalidated = new HashMap<>();
+    private long stamp;
+    private long invalidatedAll;
+    private long weight;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * This constructor initializes a cache that weighs the entries by their count of rows.
+     *
+     * @param maxWeight maximum total weight of all entries
+     * @param timeToLive time an entry is valid
+     * @param unit unit of the time to live
+     */
+    public ResultCache(long maxWeight, long timeToLive, TimeUnit unit) {
+        this(maxWeight, timeToLive, unit, rows -> rows.size() + 1);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param maxWeight maximum total weight of all entries
+     * @param timeToLive time an entry is valid
+     * @param unit unit of the time to live
+     * @param weigher computes the weight of the rows of an entry (e.g. the estimated bytes)
+     */
+    public ResultCache(long maxWeight, long timeToLive, TimeUnit unit, ToLongFunction<List<?>> weigher) {
+        this.maxWeight = maxWeight;
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.weigher = weigher;
+    }
+
+    /**
+     * This method returns the rows of the key if they are cached and not expired.
+     *
+     * @param key key of the result
+     * @return cached rows or <code>null</code> if nothing is cached
+     */
+    public synchronized List<?> get(Object key) {
+        Entry entry = entries.get(key);
+
+        if (entry != null && System.nanoTime() - entry.createdNanos >= timeToLiveNanos) {
+            remove(key);
+
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses++;
+
+            return null;
+        }
+
+        hits++;
+
+        return entry.rows;
+    }
+
+    /**
+     * Returns the stamp that must be taken before reading a result that will be put into the cache.
+     *
+     * @return current stamp
+     */
+    public synchronized long stamp() {
+        return stamp;
+    }
+
+    /**
+     * This method caches the rows, unless one of the tables was invalidated after the stamp was taken or the rows
+     * alone weigh more than the maximum.
+     *
+     * @param key key of the result
+     * @param rows rows of the result
+     * @param tables tables the rows were read from
+     * @param stamp stamp taken before the rows were read
+     * @return true if the rows were cached
+     */
+    public synchronized boolean put(Object key, List<?> rows, Collection<String> tables, long stamp) {
+        Set<String> names = new HashSet<>();
+
+        for (String table : tables) {
+            names.add(table.toLowerCase(Locale.ROOT));
+        }
+
+        if (invalidatedAll > stamp || names.stream().anyMatch(name -> invalidated.getOrDefault(name, -1L) > stamp)) {
+            return false;
+        }
+
+        long entryWeight = weigher.applyAsLong(rows);
+
+        if (entryWeight > maxWeight) {
+            return false;
+        }
+
+        remove(key);
+
+        entries.put(key, new Entry(Collections.unmodifiableList(rows), names, entryWeight, System.nanoTime()));
+        weight += entryWeight;
+
+        for (String name : names) {
+            this.tables.computeIfAbsent(name, n -> new HashSet<>()).add(key);
+        }
+
+        evict();
+
+        return true;
+    }
+
+    /**
+     * This method removes all results that were read from the table. It should be called after the table was
+     * changed.
+     *
+     * @param table name of the changed table
+     */
+    public synchronized void invalidate(String table) {
+        String name = table.toLowerCase(Locale.ROOT);
+        Set<Object> keys = tables.remove(name);
+
+        invalidated.put(name, ++stamp);
+
+        if (keys != null) {
+            for (Object key : keys) {
+                remove(key);
+            }
+        }
+    }
+
+    /**
+     * This method removes all results.
+     */
+    public synchronized void invalidateAll() {
+        invalidatedAll = ++stamp;
+        invalidated.clear();
+
+        entries.clear();
+        tables.clear();
+        weight = 0;
+    }
+
+    private void evict() {
+        if (weight <= maxWeight) {
+            return;
+        }
+
+        Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+        long now = System.nanoTime();
+
+        // the expired entries go first, then the least recently used ones
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Entry> entry = iterator.next();
+
+            if (now - entry.getValue().createdNanos >= timeToLiveNanos) {
+                iterator.remove();
+                unlink(entry.getKey(), entry.getValue());
+            }
+        }
+
+        iterator = entries.entrySet().iterator();
+
+        while (weight > maxWeight && iterator.hasNext()) {
+            Map.Entry<Object, Entry> entry = iterator.next();
+
+            iterator.remove();
+            unlink(entry.getKey(), entry.getValue());
+
+            evictions++;
+        }
+    }
+
+    private void remove(Object key) {
+        Entry entry = entries.remove(key);
+
+        if (entry != null) {
+            unlink(key, entry);
+        }
+    }
+
+    private void unlink(Object key, Entry entry) {
+        weight -= entry.weight;
+
+        for (String name : entry.tables) {
+            Set<Object> keys = tables.get(name);
+
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                tables.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Returns the count of cached results.
+     *
+     * @return count of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total weight of the cached results.
+     *
+     * @return total weight
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public long getTimeToLive(TimeUnit unit) {
+        return unit.convert(timeToLiveNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static class Entry {
+
+        private final List<?> rows;
+        private final Set<String> tables;
+        private final long weight;
+        private final long createdNanos;
+
+        private Entry(List<?> rows, Set<String> tables, long weight, long createdNanos) {
+            this.rows = rows;
+            this.tables = tables;
+            this.weight = weight;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.search2sql.execution;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This maps the current row of a {@link ResultSet} to an object. It is used by the executors of this package to
+ * return the results of a search instead of an open <code>ResultSet</code>.
+ *
+ * @param <T> type of the mapped rows
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * This method maps the current row. It mustn't move the cursor.
+     *
+     * @param resultSet result set positioned at the row
+     * @return mapped row
+     * @throws SQLException thrown if a column can't be read
+     */
+    T map(ResultSet resultSet) throws SQLException;
+}
@@ -0,0 +1,253 @@
+package com.search2sql.execution;
+
+import com.search2sql.Search;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.exception.SearchSupersededException;
+import com.search2sql.query.BoundQuery;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This executes the searches of sessions (e.g. a search box with typeahead) where only the newest search of a session
+ * matters. It is built on top of a {@link Search} and takes the connections from a {@link DataSource}.
+ * <br><br>
+ * The executor knows the running search of every session key. When a newer search of the same session arrives, the
+ * running one is superseded: its statement is cancelled with {@link java.sql.Statement#cancel()} and its connection is
+ * closed right after the driver gave up, instead of after the result was read. A search that is still waiting for a
+ * connection doesn't execute at all. The superseded search throws a {@link SearchSupersededException}, which should
+ * be ignored by the caller.
+ * <br><br>
+ * The executor estimates how much database time the cancellations saved: the average duration of the completed
+ * searches minus the time the cancelled search already ran.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class SessionExecutor {
+
+    private final Search search;
+    private final DataSource dataSource;
+
+    private final ConcurrentMap<String, Execution> running = new ConcurrentHashMap<>();
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong savedNanos = new AtomicLong();
+    private final AtomicLong averageNanos = new AtomicLong();
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param search search that translates the search expressions
+     * @param dataSource source of the connections
+     */
+    public SessionExecutor(Search search, DataSource dataSource) {
+        this.search = search;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * This method executes the search for the session and supersedes the running search of the same session.
+     *
+     * @param sessionKey key of the session (e.g. the id of the user's search box)
+     * @param search user search expression
+     * @param queryPrefix prefix to add in front of the generated query
+     * @param querySuffix suffix to add after the generated query
+     * @param mapper mapper of the rows
+     * @param <T> type of the mapped rows
+     * @return all mapped rows
+     * @throws InvalidSearchException thrown if the search expression is invalid
+     * @throws SearchSupersededException thrown if a newer search of the session arrived while this one was running
+     * @throws SQLException thrown if there is a problem with the JDBC API
+     */
+    public <T> List<T> execute(String sessionKey, String search, String queryPrefix, String querySuffix,
+                               RowMapper<T> mapper) throws InvalidSearchException, SQLException {
+        Execution execution = new Execution();
+        Execution previous = running.put(sessionKey, execution);
+
+        // only the newest search matters, even if it is invalid
+        if (previous != null) {
+            supersede(previous);
+        }
+
+        try {
+            BoundQuery query = this.search.bind(search);
+
+            try (Connection connection = dataSource.getConnection()) {
+                // the search may have been superseded while waiting for the connection
+                if (execution.cancelled) {
+                    throw new SearchSupersededException(sessionKey, null);
+                }
+
+                try (PreparedStatement ps = this.search.prepareStatement(query, connection, queryPrefix, querySuffix, 1)) {
+                    execution.start(ps);
+
+                    // the search may have been superseded before the statement was known
+                    if (execution.cancelled) {
+                        throw new SearchSupersededException(sessionKey, null);
+                    }
+
+                    List<T> results = new ArrayList<>();
+
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next() && !execution.cancelled) {
+                            results.add(mapper.map(rs));
+                        }
+                    } catch (SQLException e) {
+                        // the driver reports the cancellation as an error
+                        throw execution.cancelled ? new SearchSupersededException(sessionKey, e) : e;
+                    }
+
+                    if (execution.cancelled) {
+                        throw new SearchSupersededException(sessionKey, null);
+                    }
+
+                    complete(execution);
+
+                    return results;
+                }
+            }
+        } finally {
+            running.remove(sessionKey, execution);
+        }
+    }
+
+    /**
+     * This method cancels the running search of the session (e.g. when the user closed the search box).
+     *
+     * @param sessionKey key of the session
+     * @return true if a search was running
+     */
+    public boolean cancel(String sessionKey) {
+        Execution execution = running.remove(sessionKey);
+
+        if (execution == null) {
+            return false;
+        }
+
+        supersede(execution);
+
+        return true;
+    }
+
+    /**
+     * Returns true if a search of the session is running.
+     *
+     * @param sessionKey key of the session
+     * @return true if a search is running
+     */
+    public boolean isRunning(String sessionKey) {
+        return running.containsKey(sessionKey);
+    }
+
+    private void supersede(Execution execution) {
+        if (execution.done) {
+            return;
+        }
+
+        long start = execution.startNanos;
+        long ran = start == 0 ? 0 : System.nanoTime() - start;
+
+        execution.cancel();
+
+        cancelled.incrementAndGet();
+
+        // a search that didn't run yet saves the whole average
+        savedNanos.addAndGet(Math.max(0, averageNanos.get() - ran));
+    }
+
+    private void complete(Execution execution) {
+        long duration = System.nanoTime() - execution.startNanos;
+
+        execution.done = true;
+
+        completed.incrementAndGet();
+
+        // moving average, so it follows the current load of the database
+        averageNanos.accumulateAndGet(duration, (average, current) -> average == 0 ? current : average + (current - average) / 8);
+    }
+
+    /**
+     * Returns the count of completed searches.
+     *
+     * @return count of completed searches
+     */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * Returns the count of superseded searches.
+     *
+     * @return count of cancelled searches
+     */
+    public long getCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Returns the estimated database time the cancellations saved.
+     *
+     * @param unit unit of the returned time
+     * @return saved time
+     */
+    public long getSavedTime(TimeUnit unit) {
+        return unit.convert(savedNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the moving average of the duration of the completed searches.
+     *
+     * @param unit unit of the returned time
+     * @return average duration
+     */
+    public long getAverageTime(TimeUnit unit) {
+        return unit.convert(averageNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    private static class Execution {
+
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile long startNanos;
+        private volatile PreparedStatement statement;
+
+        private void start(PreparedStatement statement) {
+            this.startNanos = System.nanoTime();
+            this.statement = statement;
+        }
+
+        private void cancel() {
+            // the flag is set first, so either the statement is cancelled here or the owner sees the flag
+            cancelled = true;
+
+            PreparedStatement ps = statement;
+
+            if (ps != null) {
+                try {
+                    ps.cancel();
+                } catch (SQLException e) {
+                    // the statement may just have finished or been closed; the flag stops the owner anyway
+                }
+            }
+        }
+    }
+}
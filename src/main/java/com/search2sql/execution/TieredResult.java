@@ -0,0 +1,72 @@
+package com.search2sql.execution;
+
+import com.search2sql.impl.parser.provided.MatchMode;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This is the result of a tiered execution (see
+ * {@link com.search2sql.Search#executeTiered(String, java.sql.Connection, String, String, int, RowMapper)
+ * Search.executeTiered(...)}). It contains the rows and the tier that answered the search.
+ *
+ * @param <T> type of the mapped rows
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class TieredResult<T> {
+
+    private final List<T> rows;
+    private final MatchMode tier;
+    private final int executions;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param rows mapped rows of the tier that answered
+     * @param tier match mode of the text predicates of the tier or <code>null</code> if the search wasn't tiered
+     * @param executions count of executed tiers
+     */
+    public TieredResult(List<T> rows, MatchMode tier, int executions) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.tier = tier;
+        this.executions = executions;
+    }
+
+    /**
+     * Returns the rows of the tier that answered.
+     *
+     * @return unmodifiable list of the mapped rows
+     */
+    public List<T> getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the match mode of the text predicates of the tier that answered ({@link MatchMode#EXACT},
+     * {@link MatchMode#PREFIX} or {@link MatchMode#CONTAINS}).
+     *
+     * @return tier that answered or <code>null</code> if the search has no text predicates that could be tiered
+     */
+    public MatchMode getTier() {
+        return tier;
+    }
+
+    /**
+     * Returns how many tiers were executed until one answered.
+     *
+     * @return count of executed tiers
+     */
+    public int getExecutions() {
+        return executions;
+    }
+
+    @Override
+    public String toString() {
+        return "TieredResult{" +
+                "rows=" + rows +
+                ", tier=" + tier +
+                ", executions=" + executions +
+                '}';
+    }
+}
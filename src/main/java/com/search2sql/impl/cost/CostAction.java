@@ -0,0 +1,26 @@
+package com.search2sql.impl.cost;
+
+/**
+ * This enum defines what the {@link ThresholdCostPolicy} does with a search that is too expensive.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public enum CostAction {
+
+    /**
+     * The search is rejected with the error code <code>13</code>.
+     */
+    REJECT,
+
+    /**
+     * The predicates on the most expensive columns are dropped until the search is cheap enough. If nothing would be
+     * left, the search is rejected.
+     */
+    DROP_COLUMNS,
+
+    /**
+     * The search is accepted, but routed to another executor (see {@link com.search2sql.query.Query#getRoute()}).
+     */
+    ROUTE
+}
@@ -0,0 +1,168 @@
+package com.search2sql.impl.cost;
+
+import com.search2sql.cost.CostEstimator;
+import com.search2sql.cost.PredicateKind;
+import com.search2sql.query.Query;
+import com.search2sql.query.SqlArray;
+import com.search2sql.query.SubQuery;
+import com.search2sql.query.expression.Expression;
+import com.search2sql.query.expression.ExpressionConverter;
+import com.search2sql.query.expression.Fragment;
+import com.search2sql.query.expression.Junction;
+import com.search2sql.query.expression.Negation;
+import com.search2sql.query.expression.Predicate;
+import com.search2sql.table.Column;
+import com.search2sql.table.TableConfig;
+
+import java.util.Collection;
+
+/**
+ * This is the default implementation of the {@link CostEstimator}. It scores every {@link SubQuery} by the kind of
+ * its template ({@link PredicateKind}) and the metadata of its {@link Column} and combines the scores through the
+ * logical structure of the query.
+ * <br><br>
+ * A predicate on an {@link Column#isIndexed() indexed} column costs the score of its kind. A predicate on an
+ * unindexed column makes the database read the whole table and costs the score of a scan. <code>CONTAINS</code> can't
+ * use an index and always costs its own score, which is higher than a scan because every row has to be matched.
+ * An equality with a list of values costs one lookup per value, but never more than a scan.
+ * <br><br>
+ * The scores are combined like this:
+ * <ul>
+ *     <li><code>AND</code> costs the cheapest operand because the database starts with the most selective index</li>
+ *     <li><code>OR</code> costs the sum of all operands because every operand has to be evaluated</li>
+ *     <li><code>NOT</code> costs at least a scan because a negation can't be looked up in an index</li>
+ * </ul>
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class TemplateCostEstimator extends CostEstimator {
+
+    private final double equality;
+    private final double range;
+    private final double prefix;
+    private final double contains;
+    private final double fullText;
+    private final double scan;
+
+    /**
+     * This constructor uses the default scores: equality <code>1</code>, range <code>10</code>, prefix
+     * <code>5</code>, contains <code>150</code>, full-text <code>10</code> and scan <code>100</code>.
+     */
+    public TemplateCostEstimator() {
+        this(1, 10, 5, 150, 10, 100);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param equality score of an equality on an indexed column
+     * @param range score of a range on an indexed column
+     * @param prefix score of a prefix match on an indexed column
+     * @param contains score of a contains match
+     * @param fullText score of a full-text search on an indexed column
+     * @param scan score of reading the whole table
+     */
+    public TemplateCostEstimator(double equality, double range, double prefix, double contains, double fullText, double scan) {
+        this.equality = equality;
+        this.range = range;
+        this.prefix = prefix;
+        this.contains = contains;
+        this.fullText = fullText;
+        this.scan = scan;
+    }
+
+    /**
+     * This method estimates the cost of the given query.
+     *
+     * @param query interpreted (and rewritten) query
+     * @return estimated cost (<code>0</code> for an empty query)
+     */
+    @Override
+    public double estimate(Query query) {
+        Expression expression = ExpressionConverter.toExpression(query.getSubQueries());
+
+        return expression == null ? 0 : estimate(expression, query.getTableConfig());
+    }
+
+    /**
+     * This method estimates the cost of a single sub-query.
+     *
+     * @param subQuery sub-query generated by a parser
+     * @param tableConfig meta-information about the tables
+     * @return estimated cost
+     */
+    public double estimate(SubQuery subQuery, TableConfig tableConfig) {
+        PredicateKind kind = PredicateKind.of(subQuery.getParserId(), subQuery.getType(), subQuery.getValue());
+
+        // a contains match can't use any index
+        if (kind == PredicateKind.CONTAINS) {
+            return contains;
+        }
+
+        Column column = tableConfig == null ? null : tableConfig.getColumn(subQuery.getColumnName());
+
+        // without an index every row is read
+        if (column == null || !column.isIndexed()) {
+            return scan;
+        }
+
+        switch (kind) {
+            case RANGE:
+                return range;
+            case PREFIX:
+                return prefix;
+            case FULL_TEXT:
+                return fullText;
+            default:
+                // every value of a list is looked up on its own
+                return Math.min(scan, equality * values(subQuery.getValue()));
+        }
+    }
+
+    private double estimate(Expression expression, TableConfig tableConfig) {
+        if (expression instanceof Predicate) {
+            return estimate(((Predicate) expression).getSubQuery(), tableConfig);
+        } else if (expression instanceof Negation) {
+            return Math.max(scan, estimate(((Negation) expression).getOperand(), tableConfig));
+        } else if (expression instanceof Junction) {
+            Junction junction = (Junction) expression;
+            double result = junction.isOr() ? 0 : Double.MAX_VALUE;
+
+            for (Expression operand : junction.getOperands()) {
+                double cost = estimate(operand, tableConfig);
+
+                result = junction.isOr() ? result + cost : Math.min(result, cost);
+            }
+
+            return result;
+        } else if (expression instanceof Fragment) {
+            // e.g. a union; every predicate inside of it is evaluated
+            double result = 0;
+
+            for (SubQuery subQuery : ((Fragment) expression).getSubQueries()) {
+                if (subQuery.getParserId() != null) {
+                    result += estimate(subQuery, tableConfig);
+                }
+            }
+
+            return result;
+        }
+
+        return scan;
+    }
+
+    private int values(Object value) {
+        if (value instanceof Collection) {
+            return Math.max(1, ((Collection<?>) value).size());
+        } else if (value instanceof SqlArray) {
+            return Math.max(1, ((SqlArray) value).getElements().length);
+        }
+
+        return 1;
+    }
+
+    public double getScan() {
+        return scan;
+    }
+}
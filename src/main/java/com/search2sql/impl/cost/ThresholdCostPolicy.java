@@ -0,0 +1,164 @@
+package com.search2sql.impl.cost;
+
+import com.search2sql.cost.CostEstimator;
+import com.search2sql.cost.CostPolicy;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.query.Query;
+import com.search2sql.query.SubQuery;
+import com.search2sql.query.expression.Expression;
+import com.search2sql.query.expression.ExpressionConverter;
+import com.search2sql.query.expression.Junction;
+import com.search2sql.query.expression.Negation;
+import com.search2sql.query.expression.Predicate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This {@link CostPolicy} accepts every search whose estimated cost is at most the threshold. A more expensive search
+ * is handled by the configured {@link CostAction}.
+ * <br><br>
+ * To drop columns, the policy needs a {@link TemplateCostEstimator} because the cost of every column is needed.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class ThresholdCostPolicy extends CostPolicy {
+
+    private final double threshold;
+    private final CostAction action;
+    private final String route;
+
+    /**
+     * This constructor rejects every search that is more expensive than the threshold.
+     *
+     * @param threshold maximal estimated cost
+     */
+    public ThresholdCostPolicy(double threshold) {
+        this(threshold, CostAction.REJECT, null);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param threshold maximal estimated cost
+     * @param action what happens with more expensive searches
+     * @param route name of the executor expensive searches are routed to (only used by {@link CostAction#ROUTE})
+     */
+    public ThresholdCostPolicy(double threshold, CostAction action, String route) {
+        this.threshold = threshold;
+        this.action = action;
+        this.route = route;
+    }
+
+    /**
+     * This method applies the configured action if the query is too expensive.
+     *
+     * @param query interpreted query with its estimated cost
+     * @param estimator estimator that estimated the cost
+     * @return accepted (maybe changed) query
+     * @throws InvalidSearchException thrown if the search is rejected
+     */
+    @Override
+    public Query apply(Query query, CostEstimator estimator) throws InvalidSearchException {
+        if (query.getCost() <= threshold) {
+            return query;
+        }
+
+        switch (action) {
+            case ROUTE:
+                query.setRoute(route);
+
+                return query;
+            case DROP_COLUMNS:
+                if (estimator instanceof TemplateCostEstimator) {
+                    return dropColumns(query, (TemplateCostEstimator) estimator);
+                }
+
+                // without the cost of every column the search can only be rejected
+                throw new InvalidSearchException(13);
+            default:
+                // the search is too expensive
+                throw new InvalidSearchException(13);
+        }
+    }
+
+    private Query dropColumns(Query query, TemplateCostEstimator estimator) throws InvalidSearchException {
+        // the highest cost of every column
+        Map<String, Double> columns = new HashMap<>();
+
+        for (SubQuery subQuery : query.getSubQueries()) {
+            if (subQuery.getParserId() != null && subQuery.getColumnName() != null) {
+                columns.merge(subQuery.getColumnName(), estimator.estimate(subQuery, query.getTableConfig()), Math::max);
+            }
+        }
+
+        List<String> sorted = new ArrayList<>(columns.keySet());
+
+        // the most expensive columns are dropped first
+        sorted.sort((a, b) -> Double.compare(columns.get(b), columns.get(a)));
+
+        Expression expression = ExpressionConverter.toExpression(query.getSubQueries());
+
+        for (String column : sorted) {
+            expression = drop(expression, column);
+
+            if (expression == null) {
+                // nothing would be left to search
+                throw new InvalidSearchException(13);
+            }
+
+            query.setSubQueries(ExpressionConverter.toSubQueries(expression));
+            query.setCost(estimator.estimate(query));
+
+            if (query.getCost() <= threshold) {
+                return query;
+            }
+        }
+
+        throw new InvalidSearchException(13);
+    }
+
+    private Expression drop(Expression expression, String column) {
+        if (expression instanceof Predicate) {
+            return column.equals(((Predicate) expression).getSubQuery().getColumnName()) ? null : expression;
+        } else if (expression instanceof Negation) {
+            Expression operand = drop(((Negation) expression).getOperand(), column);
+
+            return operand == null ? null : new Negation(operand);
+        } else if (expression instanceof Junction) {
+            Junction junction = (Junction) expression;
+            List<Expression> operands = new ArrayList<>();
+
+            for (Expression operand : junction.getOperands()) {
+                Expression dropped = drop(operand, column);
+
+                if (dropped != null) {
+                    operands.add(dropped);
+                }
+            }
+
+            if (operands.isEmpty()) {
+                return null;
+            }
+
+            return operands.size() == 1 ? operands.get(0) : new Junction(junction.getType(), operands);
+        }
+
+        return expression;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public CostAction getAction() {
+        return action;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+}
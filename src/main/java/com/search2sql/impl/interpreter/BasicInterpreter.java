@@ -1,14 +1,18 @@
 package com.search2sql.impl.interpreter;
 
 import com.search2sql.exception.InvalidSearchException;
-import com.search2sql.impl.interpreter.util.ParserLoader;
+import com.search2sql.impl.interpreter.util.ColumnParser;
+import com.search2sql.impl.interpreter.util.ParserCache;
+import com.search2sql.impl.interpreter.util.TermFilter;
 import com.search2sql.impl.parser.QuotedParser;
 import com.search2sql.impl.parser.provided.TextParser;
 import com.search2sql.interpreter.Interpreter;
+import com.search2sql.limit.SearchBudget;
 import com.search2sql.parser.Parser;
 import com.search2sql.query.Query;
 import com.search2sql.query.SubQuery;
 import com.search2sql.table.Column;
+import com.search2sql.table.MatchPolicy;
 import com.search2sql.table.Table;
 import com.search2sql.table.TableConfig;
 
@@ -26,6 +30,10 @@ import java.util.Map;
  * <code>'</code>. These special characters are defined over the {@link QuotedParser} and any subclass of it
  * (e.g. {@link TextParser TextParser}). After the query was split, the generated sub-queries
  * are processed. Every parser will try to parse every sub-query. Therefore an 11 can be parsed as a number or as text.
+ * <br><br>
+ * Optionally a {@link TermFilter} removes text terms that are too short or stopwords.
+ * <br><br>
+ * The parsers are loaded once per table config (see {@link ParserCache}), so all searches share them.
  *
  * @author fuggerjaki61
  * @since 0.0.1
@@ -33,6 +41,25 @@ import java.util.Map;
 @Deprecated
 public class BasicInterpreter extends Interpreter {
 
+    private final TermFilter termFilter;
+    private final ParserCache parserCache = new ParserCache();
+
+    /**
+     * This constructor doesn't filter any terms.
+     */
+    public BasicInterpreter() {
+        this(null);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param termFilter filter for text terms (may be <code>null</code>)
+     */
+    public BasicInterpreter(TermFilter termFilter) {
+        this.termFilter = termFilter;
+    }
+
     /**
      * This is the implementation of the {@link Interpreter#interpret(String, TableConfig)} method. This method is
      * responsible for all actions happening that are visible. This method takes the original string search expression
@@ -47,53 +74,78 @@ public class BasicInterpreter extends Interpreter {
      */
     @Override
     public Query interpret(String searchQuery, TableConfig tableConfig) throws InvalidSearchException {
+        return interpret(searchQuery, tableConfig, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * This method does the same as {@link BasicInterpreter#interpret(String, TableConfig)} but checks the budget of
+     * the search after splitting it, for every split query and for every generated sub-query.
+     *
+     * @param searchQuery simple string form of the search query
+     * @param tableConfig meta-information about the table (column types, etc.)
+     * @param budget budget of the search
+     * @return parsed and interpreted Query
+     * @throws InvalidSearchException thrown if there was a problem with the search or the budget was exceeded
+     */
+    @Override
+    public Query interpret(String searchQuery, TableConfig tableConfig, SearchBudget budget) throws InvalidSearchException {
         // instantiate new query
         Query result = new Query(searchQuery, tableConfig, new LinkedList<>());
 
         // initialize new map with id and its loaded parsers
-        // this map saves all parsers with its id so it has only to loaded once
+        // the parsers are cached, so they are only loaded for the first search of the table config
         Map<String, Parser> parsers = new HashMap<>();
 
-        // iterate over all tables
-        for (Table table : tableConfig.getTables()) {
-            // iterate over all parsers
-            for (Column column : table.getColumns()) {
-                // check if parser already exists
-                if (!parsers.containsKey(column.getParserId())) {
-                    // if not, load and add it
-                    parsers.put(column.getParserId(), ParserLoader.loadParser(column.getParserId()));
-                }
-            }
+        for (ColumnParser columnParser : parserCache.get(tableConfig)) {
+            parsers.putIfAbsent(columnParser.getColumn().getParserId(), columnParser.getParser());
         }
 
+        // split the query and check if there are too many parts
+        LinkedList<String> split = splitQuery(searchQuery, parsers, tableConfig);
+
+        budget.checkTokens(split.size());
+
+        // count the generated sub-queries for the budget
+        int predicates = 0;
+
         // iterate over every split query
-        for (String query : splitQuery(searchQuery, parsers, tableConfig)) {
+        for (String query : split) {
+            // stop if the search takes too long
+            budget.checkDeadline();
+
             // a flag indicating if this query was parsed
             boolean parsed = false;
 
-            // iterate over every column
-            for (Table table : tableConfig.getTables()) {
+            // the first pass searches the normal columns, the second one the fallback columns if nothing was parsed
+            for (int pass = 0; pass < 2 && !parsed; pass++) {
                 // iterate over every column
-                for (Column column : table.getColumns()) {
-                    // get the responding parser for the column
-                    Parser parser = parsers.get(column.getParserId());
+                for (Table table : tableConfig.getTables()) {
+                    // iterate over every column
+                    for (Column column : table.getColumns()) {
+                        // get the responding parser for the column
+                        Parser parser = parsers.get(column.getParserId());
+
+                        // check if the column belongs to this pass and if the parser can parse the query
+                        if ((column.getMatchPolicy() == MatchPolicy.FALLBACK) == (pass > 0) && parser.isParserFor(query)) {
+                            // set the flag to true
+                            parsed = true;
 
-                    // check if the parser can parse the query
-                    if (parser.isParserFor(query)) {
-                        // set the flag to true
-                        parsed = true;
+                            // it can, so parse it
+                            SubQuery subQuery = parser.parse(query);
 
-                        // it can, so parse it
-                        SubQuery subQuery = parser.parse(query);
+                            // add metadata for translation
+                            subQuery.setColumnName(column.getName());
+                            TermFilter.keepTerm(subQuery, query);
 
-                        // add metadata for translation
-                        subQuery.setColumnName(column.getName());
+                            // add the query to the list
+                            result.addSubQuery(subQuery);
 
-                        // add the query to the list
-                        result.addSubQuery(subQuery);
+                            // check if there are too many sub-queries
+                            budget.checkPredicates(++predicates);
 
-                        // adds a logical 'OR' everytime a new sub-query was added
-                        result.addSubQuery(new SubQuery(null, "logic.connector.or", null));
+                            // adds a logical 'OR' everytime a new sub-query was added
+                            result.addSubQuery(new SubQuery(null, "logic.connector.or", null));
+                        }
                     }
                 }
             }
@@ -114,10 +166,24 @@ public class BasicInterpreter extends Interpreter {
             result.getSubQueries().remove(result.getSubQueries().size() - 1);
         }
 
+        // drop or reject the terms that would match nearly every row
+        if (termFilter != null) {
+            result = termFilter.filter(result);
+        }
+
         // return interpreted, complete Query
         return result;
     }
 
+    /**
+     * Returns the filter for text terms.
+     *
+     * @return used term filter or <code>null</code>
+     */
+    public TermFilter getTermFilter() {
+        return termFilter;
+    }
+
     private LinkedList<String> splitQuery(String searchQuery, Map<String, Parser> parsers, TableConfig config) throws InvalidSearchException {
         // initialize result list
         LinkedList<String> list = new LinkedList<>();
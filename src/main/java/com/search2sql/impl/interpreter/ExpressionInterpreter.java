@@ -0,0 +1,702 @@
+package com.search2sql.impl.interpreter;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.exception.SearchError;
+import com.search2sql.impl.interpreter.util.ColumnParser;
+import com.search2sql.impl.interpreter.util.Lexer;
+import com.search2sql.impl.interpreter.util.ParserCache;
+import com.search2sql.impl.interpreter.util.TermFilter;
+import com.search2sql.impl.interpreter.util.Token;
+import com.search2sql.impl.parser.QuotedParser;
+import com.search2sql.impl.parser.RangeParser;
+import com.search2sql.impl.parser.TaggedParser;
+import com.search2sql.interpreter.Interpreter;
+import com.search2sql.limit.SearchBudget;
+import com.search2sql.parser.Parser;
+import com.search2sql.query.Query;
+import com.search2sql.query.SubQuery;
+import com.search2sql.query.expression.Expression;
+import com.search2sql.query.expression.ExpressionConverter;
+import com.search2sql.query.expression.Junction;
+import com.search2sql.query.expression.Negation;
+import com.search2sql.query.expression.Predicate;
+import com.search2sql.table.TableConfig;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <code>ExpressionInterpreter</code> is an implementation of {@link Interpreter} with a real grammar. The search is
+ * split by the {@link Lexer} and parsed with a recursive descent parser into an {@link Expression} tree, which is then
+ * lowered into the flat list of {@link SubQuery SubQueries} every {@link com.search2sql.translator.Translator Translator}
+ * understands.
+ * <br><br>
+ * The grammar (keywords are case insensitive):
+ * <pre>
+ * or    = and { "or" and | and }      the second alternative only if the implicit operator is OR
+ * and   = unary { "and" unary | unary }  the second alternative only if the implicit operator is AND
+ * unary = "not" unary | "(" or ")" | term
+ * </pre>
+ * So <code>NOT</code> binds stronger than <code>AND</code> and <code>AND</code> binds stronger than <code>OR</code>.
+ * Words without operator between them are connected by the implicit operator (<code>OR</code> by default, like the
+ * {@link LogicInterpreter}). A keyword that can't be an operator at its position (e.g. <i>the and</i>) is searched as
+ * a normal word.
+ * <br><br>
+ * Every term is parsed by every column whose parser can parse it; the results are connected by <code>OR</code>.
+ * Fallback columns are only used if no other column can parse the term. Parsing takes linear time in the length of
+ * the search. The nesting of parentheses and <code>NOT</code> is limited, so a malicious search can't exhaust the stack.
+ * <br><br>
+ * Errors:
+ * <ul>
+ *     <li><code>1</code> no column can parse a term</li>
+ *     <li><code>2</code> a quote wasn't terminated</li>
+ *     <li><code>14</code> the search is nested too deeply</li>
+ *     <li><code>15</code> a parenthesis wasn't opened or closed</li>
+ * </ul>
+ * Every error knows its position in the search. Normally the interpreter stops at the first error. If it collects the
+ * errors, it goes on after an error and throws all of them at the end (see
+ * {@link InvalidSearchException#getErrors()}). Only an unterminated quote and a too deep nesting stop it right away.
+ * <br><br>
+ * {@link ExpressionInterpreter#validate(CharSequence, TableConfig)} checks a search in a single pass without creating
+ * tokens or sub-queries, e.g. for validating while the user types.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class ExpressionInterpreter extends Interpreter {
+
+    private final String keywordAnd;
+    private final String keywordOr;
+    private final String keywordNot;
+    private final boolean implicitAnd;
+    private final int maxDepth;
+    private final TermFilter termFilter;
+    private final boolean collectErrors;
+    private final ParserCache parserCache = new ParserCache();
+
+    /**
+     * This constructor uses the keywords <i>and</i>, <i>or</i> and <i>not</i>, connects words without operator with
+     * <code>OR</code> and allows a nesting depth of 32.
+     */
+    public ExpressionInterpreter() {
+        this(false);
+    }
+
+    /**
+     * This constructor uses the keywords <i>and</i>, <i>or</i> and <i>not</i> and allows a nesting depth of 32.
+     *
+     * @param implicitAnd true if words without operator are connected with <code>AND</code>, false for <code>OR</code>
+     */
+    public ExpressionInterpreter(boolean implicitAnd) {
+        this("and", "or", "not", implicitAnd, 32, null);
+    }
+
+    /**
+     * This constructor defines everything.
+     *
+     * @param keywordAnd keyword for <code>AND</code>
+     * @param keywordOr keyword for <code>OR</code>
+     * @param keywordNot keyword for <code>NOT</code>
+     * @param implicitAnd true if words without operator are connected with <code>AND</code>, false for <code>OR</code>
+     * @param maxDepth maximal nesting depth of parentheses and <code>NOT</code>
+     * @param termFilter filter for text terms (may be <code>null</code>)
+     */
+    public ExpressionInterpreter(String keywordAnd, String keywordOr, String keywordNot, boolean implicitAnd,
+                                 int maxDepth, TermFilter termFilter) {
+        this(keywordAnd, keywordOr, keywordNot, implicitAnd, maxDepth, termFilter, false);
+    }
+
+    /**
+     * This constructor defines everything including whether all errors are collected.
+     *
+     * @param keywordAnd keyword for <code>AND</code>
+     * @param keywordOr keyword for <code>OR</code>
+     * @param keywordNot keyword for <code>NOT</code>
+     * @param implicitAnd true if words without operator are connected with <code>AND</code>, false for <code>OR</code>
+     * @param maxDepth maximal nesting depth of parentheses and <code>NOT</code>
+     * @param termFilter filter for text terms (may be <code>null</code>)
+     * @param collectErrors true if all errors are collected, false if the interpreter stops at the first one
+     */
+    public ExpressionInterpreter(String keywordAnd, String keywordOr, String keywordNot, boolean implicitAnd,
+                                 int maxDepth, TermFilter termFilter, boolean collectErrors) {
+        this.keywordAnd = keywordAnd;
+        this.keywordOr = keywordOr;
+        this.keywordNot = keywordNot;
+        this.implicitAnd = implicitAnd;
+        this.maxDepth = maxDepth;
+        this.termFilter = termFilter;
+        this.collectErrors = collectErrors;
+    }
+
+    @Override
+    public Query interpret(String search, TableConfig tableConfig) throws InvalidSearchException {
+        return interpret(search, tableConfig, SearchBudget.UNLIMITED);
+    }
+
+    @Override
+    public Query interpret(String search, TableConfig tableConfig, SearchBudget budget) throws InvalidSearchException {
+        return interpret(search, tableConfig, budget, tokenize(search, 0, tableConfig), null);
+    }
+
+    /**
+     * This method splits the search into its tokens starting at the given index (see
+     * {@link Lexer#tokenize(String, int)}).
+     *
+     * @param search simple string form of the search query
+     * @param start index to start splitting (the start of the search or the end of a token)
+     * @param tableConfig meta-information about the table (defines the quotation characters)
+     * @return tokens after the index in the order they occur
+     * @throws InvalidSearchException thrown if a quote wasn't terminated
+     */
+    public List<Token> tokenize(String search, int start, TableConfig tableConfig) throws InvalidSearchException {
+        return new Lexer(quotations(parserCache.get(tableConfig))).tokenize(search, start);
+    }
+
+    /**
+     * This method interprets already split tokens of the search. The parsed terms are looked up in the given map
+     * first and every newly parsed term is put into it, so a term is only parsed once as long as the map is kept
+     * (e.g. by {@link com.search2sql.SearchSession SearchSession} while the user types). The map contains copies, so
+     * changing the returned query doesn't change the map.
+     *
+     * @param search simple string form of the search query
+     * @param tableConfig meta-information about the table (column types, etc.)
+     * @param budget budget of the search
+     * @param tokens all tokens of the search
+     * @param terms parsed sub-queries by the text of their term (may be <code>null</code>)
+     * @return parsed and interpreted form of the search query
+     * @throws InvalidSearchException thrown if a problem occurred while parsing or the budget was exceeded
+     */
+    public Query interpret(String search, TableConfig tableConfig, SearchBudget budget, List<Token> tokens,
+                           Map<String, List<SubQuery>> terms) throws InvalidSearchException {
+        List<ColumnParser> parsers = parserCache.get(tableConfig);
+
+        budget.checkTokens(tokens.size());
+
+        Context context = new Context(search, tokens, parsers, budget, collectErrors, terms);
+        Expression expression = null;
+
+        if (!tokens.isEmpty()) {
+            expression = parseOr(context, 0);
+
+            // everything must have been consumed, so the rest starts with an unopened parenthesis
+            while (context.current() != null) {
+                fail(context, 15, context.current().getStart());
+
+                // only reached while collecting: skip the parenthesis and check the rest too
+                context.position++;
+
+                if (context.current() != null) {
+                    parseOr(context, 0);
+                }
+            }
+
+            if (!context.errors.isEmpty()) {
+                throw new InvalidSearchException(context.errors);
+            }
+        }
+
+        Query query = new Query(search, tableConfig, ExpressionConverter.toSubQueries(expression));
+
+        // drop or reject the terms that would match nearly every row
+        return termFilter == null ? query : termFilter.filter(query);
+    }
+
+    private Expression parseOr(Context context, int depth) throws InvalidSearchException {
+        List<Expression> operands = new ArrayList<>();
+
+        add(operands, parseAnd(context, depth));
+
+        while (true) {
+            if (isOperator(context, keywordOr)) {
+                context.position++;
+            } else if (implicitAnd || !startsOperand(context.current())) {
+                break;
+            }
+
+            add(operands, parseAnd(context, depth));
+        }
+
+        return combine(Junction.OR, operands);
+    }
+
+    private Expression parseAnd(Context context, int depth) throws InvalidSearchException {
+        List<Expression> operands = new ArrayList<>();
+
+        add(operands, parseUnary(context, depth));
+
+        while (true) {
+            if (isOperator(context, keywordAnd)) {
+                context.position++;
+            } else if (!implicitAnd || !startsOperand(context.current()) || isOperator(context, keywordOr)) {
+                break;
+            }
+
+            add(operands, parseUnary(context, depth));
+        }
+
+        return combine(Junction.AND, operands);
+    }
+
+    private Expression parseUnary(Context context, int depth) throws InvalidSearchException {
+        Token token = context.current();
+
+        // an operand is missing, e.g. at the end or in '()'
+        if (token == null || token.getType() == Token.Type.CLOSE) {
+            fail(context, 15, token == null ? context.search.length() : token.getStart());
+
+            return null;
+        }
+
+        if (token.getType() == Token.Type.OPEN) {
+            checkDepth(context, depth + 1, token);
+
+            context.position++;
+
+            Expression inner = parseOr(context, depth + 1);
+
+            if (context.current() == null || context.current().getType() != Token.Type.CLOSE) {
+                // the parenthesis is reported where it was opened
+                fail(context, 15, token.getStart());
+
+                return inner;
+            }
+
+            context.position++;
+
+            return inner;
+        } else if (isOperator(context, keywordNot)) {
+            checkDepth(context, depth + 1, token);
+
+            context.position++;
+
+            Expression operand = parseUnary(context, depth + 1);
+
+            return operand == null ? null : new Negation(operand);
+        }
+
+        context.position++;
+
+        return parseTerm(token, context);
+    }
+
+    private Expression parseTerm(Token token, Context context) throws InvalidSearchException {
+        context.budget.checkDeadline();
+
+        String term = token.getText();
+        List<Expression> operands = new ArrayList<>();
+        boolean failed = false;
+
+        // the term was already parsed before
+        List<SubQuery> cached = context.terms == null ? null : context.terms.get(term);
+
+        if (cached != null) {
+            for (SubQuery subQuery : cached) {
+                operands.add(new Predicate(new SubQuery(subQuery)));
+
+                context.budget.checkPredicates(++context.predicates);
+            }
+
+            return combine(Junction.OR, operands);
+        }
+
+        // fallback columns are only searched if no other column could parse the value
+        for (int pass = 0; pass < 2 && operands.isEmpty() && !failed; pass++) {
+            for (ColumnParser columnParser : context.parsers) {
+                if (columnParser.isFallback() != (pass > 0) || !columnParser.getParser().isParserFor(term)) {
+                    continue;
+                }
+
+                SubQuery subQuery;
+
+                try {
+                    subQuery = columnParser.getParser().parse(term);
+                } catch (InvalidSearchException e) {
+                    fail(context, e.getErrorCode(), position(e, token.getStart()));
+
+                    failed = true;
+
+                    continue;
+                }
+
+                subQuery.setColumnName(columnParser.getQualifiedName());
+                TermFilter.keepTerm(subQuery, term);
+
+                operands.add(new Predicate(subQuery));
+
+                context.budget.checkPredicates(++context.predicates);
+            }
+        }
+
+        if (operands.isEmpty() && !failed) {
+            fail(context, 1, token.getStart());
+        }
+
+        if (context.terms != null && !operands.isEmpty() && !failed) {
+            List<SubQuery> parsed = new ArrayList<>(operands.size());
+
+            for (Expression operand : operands) {
+                parsed.add(new SubQuery(((Predicate) operand).getSubQuery()));
+            }
+
+            context.terms.put(term, parsed);
+        }
+
+        return combine(Junction.OR, operands);
+    }
+
+    /**
+     * This method validates the search in a single pass. It follows the same grammar as
+     * {@link ExpressionInterpreter#interpret(String, TableConfig)} and finds the same first error, but it doesn't
+     * create tokens, sub-queries or a query. Only the terms are passed to the parsers (see
+     * {@link Parser#validate(String)}). A valid search returns the shared {@link SearchError#VALID}.
+     * <br><br>
+     * The term filter and the budget aren't checked.
+     *
+     * @param search simple string form of the search query
+     * @param tableConfig meta-information about the table (column types, etc.)
+     * @return the first error of the search or {@link SearchError#VALID}
+     */
+    @Override
+    public SearchError validate(CharSequence search, TableConfig tableConfig) {
+        // the nesting is saved in the bits of a long
+        if (maxDepth >= Long.SIZE) {
+            return super.validate(search, tableConfig);
+        }
+
+        List<ColumnParser> parsers = parserCache.get(tableConfig);
+
+        // one bit per nesting level: 1 for a parenthesis, 0 for a NOT
+        long levels = 0;
+        int depth = 0;
+        int groups = 0;
+        int pendingNots = 0;
+        boolean afterOperand = false;
+        int i = 0;
+
+        try {
+            while ((i = skipWhitespace(search, i)) < search.length()) {
+                char c = search.charAt(i);
+
+                if (c == '(') {
+                    checkDepth(depth + 1, i);
+
+                    // an operand is missing, e.g. at the end or in '()'
+                    int next = skipWhitespace(search, i + 1);
+
+                    if (next >= search.length() || search.charAt(next) == ')') {
+                        throw new InvalidSearchException(15, next);
+                    }
+
+                    levels |= 1L << depth;
+                    depth++;
+                    groups++;
+                    pendingNots = 0;
+                    afterOperand = false;
+                    i++;
+                } else if (c == ')') {
+                    if (groups == 0) {
+                        throw new InvalidSearchException(15, i);
+                    }
+
+                    // close the parenthesis and the NOTs in front of it
+                    depth--;
+                    levels &= ~(1L << depth);
+
+                    while (depth > 0 && (levels & (1L << (depth - 1))) == 0) {
+                        depth--;
+                    }
+
+                    groups--;
+                    afterOperand = true;
+                    i++;
+                } else {
+                    int end = endOfWord(search, i, parsers);
+                    boolean operator = startsOperand(search, end);
+
+                    if (operator && isKeyword(search, i, end, keywordNot)) {
+                        checkDepth(depth + 1, i);
+
+                        depth++;
+                        pendingNots++;
+                        afterOperand = false;
+                    } else if (operator && afterOperand
+                            && (isKeyword(search, i, end, keywordAnd) || isKeyword(search, i, end, keywordOr))) {
+                        afterOperand = false;
+                    } else {
+                        validateTerm(search.subSequence(i, end).toString(), i, parsers);
+
+                        // the NOTs in front of the term end with it
+                        depth -= pendingNots;
+                        pendingNots = 0;
+                        afterOperand = true;
+                    }
+
+                    i = end;
+                }
+            }
+        } catch (InvalidSearchException e) {
+            return new SearchError(e.getErrorCode(), e.getPosition());
+        }
+
+        // the position of the innermost unclosed parenthesis isn't saved, so the interpreter finds it
+        return groups > 0 ? super.validate(search, tableConfig) : SearchError.VALID;
+    }
+
+    private void validateTerm(String term, int start, List<ColumnParser> parsers) throws InvalidSearchException {
+        boolean recognized = false;
+
+        // the same passes as while parsing, but the parsers only check the term
+        for (int pass = 0; pass < 2 && !recognized; pass++) {
+            for (int p = 0; p < parsers.size(); p++) {
+                ColumnParser columnParser = parsers.get(p);
+
+                if (columnParser.isFallback() != (pass > 0) || !columnParser.getParser().isParserFor(term)) {
+                    continue;
+                }
+
+                recognized = true;
+
+                try {
+                    columnParser.getParser().validate(term);
+                } catch (InvalidSearchException e) {
+                    throw new InvalidSearchException(e.getErrorCode(), position(e, start));
+                }
+            }
+        }
+
+        if (!recognized) {
+            throw new InvalidSearchException(1, start);
+        }
+    }
+
+    private int endOfWord(CharSequence search, int i, List<ColumnParser> parsers) throws InvalidSearchException {
+        while (i < search.length()) {
+            char c = search.charAt(i);
+
+            if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                return i;
+            } else if (isQuotation(search, i, parsers)) {
+                i = endOfQuote(search, i, parsers);
+            } else {
+                i++;
+            }
+        }
+
+        return i;
+    }
+
+    private int endOfQuote(CharSequence search, int start, List<ColumnParser> parsers) throws InvalidSearchException {
+        char quotation = search.charAt(start);
+
+        for (int i = start + 1; i < search.length(); i++) {
+            if (search.charAt(i) == quotation && isQuotation(search, i, parsers)) {
+                return i + 1;
+            }
+        }
+
+        // the quote wasn't terminated
+        throw new InvalidSearchException(2, start);
+    }
+
+    private boolean isQuotation(CharSequence search, int i, List<ColumnParser> parsers) {
+        char c = search.charAt(i);
+
+        // same rules as the lexer: a quotation character preceded by a backslash doesn't count
+        if (i > 0 && search.charAt(i - 1) == '\\') {
+            return false;
+        }
+
+        for (int p = 0; p < parsers.size(); p++) {
+            char quotation = quotation(parsers.get(p).getParser());
+
+            if (quotation != Character.MIN_VALUE && quotation == c) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean startsOperand(CharSequence search, int i) {
+        int next = skipWhitespace(search, i);
+
+        return next < search.length() && search.charAt(next) != ')';
+    }
+
+    private boolean isKeyword(CharSequence search, int start, int end, String keyword) {
+        if (end - start != keyword.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < keyword.length(); i++) {
+            char a = search.charAt(start + i);
+            char b = keyword.charAt(i);
+
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b)
+                    && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int skipWhitespace(CharSequence search, int i) {
+        while (i < search.length() && Character.isWhitespace(search.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private void checkDepth(int depth, int position) throws InvalidSearchException {
+        if (depth > maxDepth) {
+            throw new InvalidSearchException(14, position);
+        }
+    }
+
+    private int position(InvalidSearchException e, int start) {
+        // the parsers don't know where the term is, so the position of the token is added
+        return e.getPosition() == InvalidSearchException.NO_POSITION ? start : start + e.getPosition();
+    }
+
+    private void add(List<Expression> operands, Expression operand) {
+        // an operand is only missing if an error was collected
+        if (operand != null) {
+            operands.add(operand);
+        }
+    }
+
+    private Expression combine(String operator, List<Expression> operands) {
+        if (operands.isEmpty()) {
+            return null;
+        }
+
+        return operands.size() == 1 ? operands.get(0) : new Junction(operator, operands);
+    }
+
+    private void fail(Context context, int errorCode, int position) throws InvalidSearchException {
+        if (!context.collectErrors) {
+            throw new InvalidSearchException(errorCode, position);
+        }
+
+        SearchError error = new SearchError(errorCode, position);
+
+        // the same parenthesis may be reported as missing operand and as not opened
+        if (context.errors.isEmpty() || !context.errors.get(context.errors.size() - 1).equals(error)) {
+            context.errors.add(error);
+        }
+    }
+
+    private boolean isOperator(Context context, String keyword) {
+        Token token = context.current();
+
+        // a keyword is only an operator if an operand follows
+        return token != null
+                && token.getType() == Token.Type.WORD
+                && token.getText().equalsIgnoreCase(keyword)
+                && startsOperand(context.next());
+    }
+
+    private boolean startsOperand(Token token) {
+        return token != null && token.getType() != Token.Type.CLOSE;
+    }
+
+    private void checkDepth(Context context, int depth, Token token) throws InvalidSearchException {
+        if (depth > maxDepth) {
+            // the rest of the search isn't parsed, so all errors so far are thrown
+            context.errors.add(new SearchError(14, token.getStart()));
+
+            throw new InvalidSearchException(context.errors);
+        }
+    }
+
+    private Set<Character> quotations(List<ColumnParser> parsers) {
+        Set<Character> quotations = new HashSet<>();
+
+        for (ColumnParser columnParser : parsers) {
+            char quotation = quotation(columnParser.getParser());
+
+            if (quotation != Character.MIN_VALUE) {
+                quotations.add(quotation);
+            }
+        }
+
+        return quotations;
+    }
+
+    private char quotation(Parser parser) {
+        if (parser instanceof QuotedParser) {
+            return ((QuotedParser) parser).getQuotation();
+        } else if (parser instanceof RangeParser) {
+            return ((RangeParser) parser).getQuotation();
+        } else if (parser instanceof TaggedParser) {
+            return ((TaggedParser) parser).getQuotation();
+        }
+
+        return Character.MIN_VALUE;
+    }
+
+    public String getKeywordAnd() {
+        return keywordAnd;
+    }
+
+    public String getKeywordOr() {
+        return keywordOr;
+    }
+
+    public String getKeywordNot() {
+        return keywordNot;
+    }
+
+    public boolean isImplicitAnd() {
+        return implicitAnd;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public TermFilter getTermFilter() {
+        return termFilter;
+    }
+
+    public boolean isCollectErrors() {
+        return collectErrors;
+    }
+
+    private static class Context {
+
+        private final String search;
+        private final List<Token> tokens;
+        private final List<ColumnParser> parsers;
+        private final SearchBudget budget;
+        private final boolean collectErrors;
+        private final Map<String, List<SubQuery>> terms;
+        private final List<SearchError> errors = new ArrayList<>(0);
+
+        private int position;
+        private int predicates;
+
+        private Context(String search, List<Token> tokens, List<ColumnParser> parsers, SearchBudget budget,
+                        boolean collectErrors, Map<String, List<SubQuery>> terms) {
+            this.search = search;
+            this.terms = terms;
+            this.tokens = tokens;
+            this.parsers = parsers;
+            this.budget = budget;
+            this.collectErrors = collectErrors;
+        }
+
+        private Token current() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+
+        private Token next() {
+            return position + 1 < tokens.size() ? tokens.get(position + 1) : null;
+        }
+    }
+}
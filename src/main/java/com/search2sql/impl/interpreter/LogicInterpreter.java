@@ -1,16 +1,17 @@
 package com.search2sql.impl.interpreter;
 
 import com.search2sql.exception.InvalidSearchException;
-import com.search2sql.impl.interpreter.util.ParserLoader;
+import com.search2sql.impl.interpreter.util.ColumnParser;
+import com.search2sql.impl.interpreter.util.ParserCache;
+import com.search2sql.impl.interpreter.util.TermFilter;
 import com.search2sql.impl.parser.QuotedParser;
 import com.search2sql.impl.parser.RangeParser;
 import com.search2sql.impl.parser.TaggedParser;
 import com.search2sql.interpreter.Interpreter;
+import com.search2sql.limit.SearchBudget;
 import com.search2sql.parser.Parser;
 import com.search2sql.query.Query;
 import com.search2sql.query.SubQuery;
-import com.search2sql.table.Column;
-import com.search2sql.table.Table;
 import com.search2sql.table.TableConfig;
 
 import java.util.*;
@@ -25,11 +26,22 @@ public class LogicInterpreter extends Interpreter {
     private final SubQuery queryOr;
     private final SubQuery queryNot;
 
+    private final TermFilter termFilter;
+    private final ParserCache parserCache = new ParserCache();
+
     public LogicInterpreter() {
         this("and", "or", "not");
     }
 
+    public LogicInterpreter(TermFilter termFilter) {
+        this("and", "or", "not", termFilter);
+    }
+
     public LogicInterpreter(String keywordAnd, String keywordOr, String keywordNot) {
+        this(keywordAnd, keywordOr, keywordNot, null);
+    }
+
+    public LogicInterpreter(String keywordAnd, String keywordOr, String keywordNot, TermFilter termFilter) {
         this.keywordAnd = keywordAnd;
         this.keywordOr = keywordOr;
         this.keywordNot = keywordNot;
@@ -37,26 +49,37 @@ public class LogicInterpreter extends Interpreter {
         this.queryAnd = new SubQuery(null, null, "logic.connector.and", null);
         this.queryOr = new SubQuery(null, null, "logic.connector.or", null);
         this.queryNot = new SubQuery(null, null, "logic.operator.not", null);
+
+        this.termFilter = termFilter;
     }
 
     @Override
     public Query interpret(String search, TableConfig tableConfig) throws InvalidSearchException {
-        Map<Parser, String[]> parsers = new HashMap<>();
+        return interpret(search, tableConfig, SearchBudget.UNLIMITED);
+    }
 
-        for (Table table : tableConfig.getTables()) {
-            for (Column column : table.getColumns()) {
-                parsers.put(ParserLoader.loadParser(column.getParserId()), new String[]{table.getPrefix(), column.getName()});
-            }
+    @Override
+    public Query interpret(String search, TableConfig tableConfig, SearchBudget budget) throws InvalidSearchException {
+        List<ColumnParser> parsers = parserCache.get(tableConfig);
+        Set<Parser> loaded = new HashSet<>();
+
+        for (ColumnParser columnParser : parsers) {
+            loaded.add(columnParser.getParser());
         }
 
         LinkedList<SubQuery> subQueries = new LinkedList<>();
 
-        List<String> split = split(search, parsers.keySet());
+        List<String> split = split(search, loaded);
+        int predicates = 0;
+
+        budget.checkTokens(split.size());
 
         for (ListIterator<String> iterator = split.listIterator(); iterator.hasNext(); ) {
             int index = iterator.nextIndex();
             String current = iterator.next();
 
+            budget.checkDeadline();
+
             boolean isFirst = index <= 0;
             boolean isLast = index >= split.size() - 1;
 
@@ -112,11 +135,17 @@ public class LogicInterpreter extends Interpreter {
 
             subQueries.add(new SubQuery(null, "sql.bracket.open", null));
 
-            for (Map.Entry<Parser, String[]> parserEntry : parsers.entrySet()) {
-                if (parserEntry.getKey().isParserFor(current)) {
-                    SubQuery subQuery = parserEntry.getKey().parse(current);
+            // fallback columns are only searched if no other column could parse the value
+            for (int pass = 0; pass < 2 && !parsed; pass++) {
+                for (ColumnParser columnParser : parsers) {
+                    if (columnParser.isFallback() != (pass > 0) || !columnParser.getParser().isParserFor(current)) {
+                        continue;
+                    }
+
+                    SubQuery subQuery = columnParser.getParser().parse(current);
 
-                    subQuery.setColumnName((parserEntry.getValue()[0] != null ? parserEntry.getValue()[0] + "." : "") + parserEntry.getValue()[1]);
+                    subQuery.setColumnName(columnParser.getQualifiedName());
+                    TermFilter.keepTerm(subQuery, current);
 
                     if (parsed) {
                         subQueries.add(queryOr);
@@ -124,6 +153,8 @@ public class LogicInterpreter extends Interpreter {
 
                     subQueries.add(subQuery);
 
+                    budget.checkPredicates(++predicates);
+
                     parsed = true;
                 }
             }
@@ -135,7 +166,10 @@ public class LogicInterpreter extends Interpreter {
             }
         }
 
-        return new Query(search, tableConfig, subQueries);
+        Query query = new Query(search, tableConfig, subQueries);
+
+        // drop or reject the terms that would match nearly every row
+        return termFilter == null ? query : termFilter.filter(query);
     }
 
     private List<String> split(String search, Set<Parser> parsers) throws InvalidSearchException {
@@ -321,4 +355,8 @@ public class LogicInterpreter extends Interpreter {
     public String getKeywordNot() {
         return keywordNot;
     }
+
+    public TermFilter getTermFilter() {
+        return termFilter;
+    }
 }
@@ -0,0 +1,63 @@
+package com.search2sql.impl.interpreter.util;
+
+import com.search2sql.parser.Parser;
+import com.search2sql.table.Column;
+import com.search2sql.table.MatchPolicy;
+import com.search2sql.table.Table;
+
+/**
+ * This is an utility used by the interpreters. It connects a {@link Column} with the {@link Table} it belongs to and
+ * the loaded {@link Parser} for it.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class ColumnParser {
+
+    private final Table table;
+    private final Column column;
+    private final Parser parser;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param table table of the column
+     * @param column the column
+     * @param parser parser loaded for the column
+     */
+    public ColumnParser(Table table, Column column, Parser parser) {
+        this.table = table;
+        this.column = column;
+        this.parser = parser;
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    public Column getColumn() {
+        return column;
+    }
+
+    public Parser getParser() {
+        return parser;
+    }
+
+    /**
+     * Returns the column name with the table prefix (if the table has a prefix).
+     *
+     * @return qualified column name
+     */
+    public String getQualifiedName() {
+        return (table.getPrefix() != null ? table.getPrefix() + "." : "") + column.getName();
+    }
+
+    /**
+     * Returns if the column is only searched when no other column could parse the value.
+     *
+     * @return true if the column is a fallback
+     */
+    public boolean isFallback() {
+        return column.getMatchPolicy() == MatchPolicy.FALLBACK;
+    }
+}
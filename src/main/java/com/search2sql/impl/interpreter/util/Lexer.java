@@ -0,0 +1,116 @@
+package com.search2sql.impl.interpreter.util;
+
+import com.search2sql.exception.InvalidSearchException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This is the lexer of the {@link com.search2sql.impl.interpreter.ExpressionInterpreter ExpressionInterpreter}. It
+ * splits a search expression into {@link Token Tokens} in a single pass.
+ * <br><br>
+ * Words are separated by whitespaces and parentheses. A quote (started by one of the quotation characters) lasts until
+ * the same character occurs again and may contain whitespaces and parentheses. A quotation character preceded by a
+ * backslash doesn't start or end a quote. A quote may also be part of a word (e.g. <i>name:"john smith"</i>).
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class Lexer {
+
+    private final Set<Character> quotations;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param quotations characters that start and end quotes
+     */
+    public Lexer(Set<Character> quotations) {
+        this.quotations = Collections.unmodifiableSet(quotations);
+    }
+
+    /**
+     * This method splits the search into its tokens.
+     *
+     * @param search search expression
+     * @return tokens in the order they occur
+     * @throws InvalidSearchException thrown if a quote wasn't terminated (at the position of the quote)
+     */
+    public List<Token> tokenize(String search) throws InvalidSearchException {
+        return tokenize(search, 0);
+    }
+
+    /**
+     * This method splits the search into its tokens starting at the given index. The index must be the start of the
+     * search or the end of a token, so the search can be split again from the first change (e.g. while typing).
+     *
+     * @param search search expression
+     * @param from index to start splitting
+     * @return tokens after the index in the order they occur
+     * @throws InvalidSearchException thrown if a quote wasn't terminated (at the position of the quote)
+     */
+    public List<Token> tokenize(String search, int from) throws InvalidSearchException {
+        List<Token> tokens = new ArrayList<>();
+        int i = from;
+
+        while (i < search.length()) {
+            char c = search.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(') {
+                tokens.add(new Token(Token.Type.OPEN, "(", i, ++i));
+            } else if (c == ')') {
+                tokens.add(new Token(Token.Type.CLOSE, ")", i, ++i));
+            } else {
+                int start = i;
+
+                i = endOfWord(search, i);
+
+                tokens.add(new Token(Token.Type.WORD, search.substring(start, i), start, i));
+            }
+        }
+
+        return tokens;
+    }
+
+    private int endOfWord(String search, int i) throws InvalidSearchException {
+        while (i < search.length()) {
+            char c = search.charAt(i);
+
+            if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                return i;
+            } else if (isQuotation(search, i)) {
+                // skip the whole quote
+                i = endOfQuote(search, i);
+            } else {
+                i++;
+            }
+        }
+
+        return i;
+    }
+
+    private int endOfQuote(String search, int start) throws InvalidSearchException {
+        char quotation = search.charAt(start);
+
+        for (int i = start + 1; i < search.length(); i++) {
+            if (search.charAt(i) == quotation && isQuotation(search, i)) {
+                return i + 1;
+            }
+        }
+
+        // the quote wasn't terminated
+        throw new InvalidSearchException(2, start);
+    }
+
+    private boolean isQuotation(String search, int i) {
+        return quotations.contains(search.charAt(i)) && (i == 0 || search.charAt(i - 1) != '\\');
+    }
+
+    public Set<Character> getQuotations() {
+        return quotations;
+    }
+}
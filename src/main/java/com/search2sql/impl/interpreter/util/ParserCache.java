@@ -0,0 +1,73 @@
+package com.search2sql.impl.interpreter.util;
+
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is a cache for the {@link ColumnParser ColumnParsers} of a {@link TableConfig} used by the interpreters.
+ * <br><br>
+ * Loading a parser uses reflection and is by far the most expensive part of interpreting a short search. The cache
+ * loads the parsers of every table config only once, so all searches (also the ones interpreted in parallel) share one
+ * compiled parser set. Parsers must therefore be immutable, which is true for all provided parsers.
+ * <br><br>
+ * Table configs are compared by identity. Because they are normally created once, the cache is simply cleared when it
+ * holds too many of them.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class ParserCache {
+
+    private static final int MAX_SIZE = 64;
+
+    private final ConcurrentMap<TableConfig, List<ColumnParser>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * This method returns the parsers of all columns of the table config. They are loaded if they aren't cached yet.
+     *
+     * @param tableConfig meta-information about the tables
+     * @return unmodifiable list of the parsers of all columns
+     */
+    public List<ColumnParser> get(TableConfig tableConfig) {
+        List<ColumnParser> parsers = cache.get(tableConfig);
+
+        if (parsers == null) {
+            // table configs created per search would fill the cache forever
+            if (cache.size() >= MAX_SIZE) {
+                cache.clear();
+            }
+
+            parsers = load(tableConfig);
+
+            // another thread may have loaded them in the meantime; both lists are equal
+            cache.putIfAbsent(tableConfig, parsers);
+        }
+
+        return parsers;
+    }
+
+    /**
+     * This method loads the parsers of all columns of the table config without caching them.
+     *
+     * @param tableConfig meta-information about the tables
+     * @return unmodifiable list of the parsers of all columns
+     */
+    public static List<ColumnParser> load(TableConfig tableConfig) {
+        List<ColumnParser> parsers = new ArrayList<>();
+
+        for (Table table : tableConfig.getTables()) {
+            for (Column column : table.getColumns()) {
+                parsers.add(new ColumnParser(table, column, ParserLoader.loadParser(column.getParserId())));
+            }
+        }
+
+        return Collections.unmodifiableList(parsers);
+    }
+}
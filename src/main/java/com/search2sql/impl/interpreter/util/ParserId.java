@@ -63,6 +63,8 @@ public class ParserId {
                 result.add(Float.TYPE);
             } else if (o instanceof Double) {
                 result.add(Double.TYPE);
+            } else if (o instanceof Boolean) {
+                result.add(Boolean.TYPE);
             } else {
                 result.add(o.getClass());
             }
@@ -14,7 +14,8 @@ import java.util.*;
 
 public class ParserLoader {
 
-    private static Map<String, Class<?>> parsers;
+    // volatile, so a thread sees either nothing or the fully initialized map without locking
+    private static volatile Map<String, Class<?>> parsers;
 
     public static void initialize() {
         ConfigurationBuilder config = ConfigurationBuilder
@@ -61,13 +62,18 @@ public class ParserLoader {
     }
 
     public static Parser loadParser(String id) {
-        if (parsers == null) {
+        Map<String, Class<?>> loaded = parsers;
+
+        // two threads may both scan the classpath the first time, but both get the same map
+        if (loaded == null) {
             initialize();
+
+            loaded = parsers;
         }
 
         ParserId parserId = ParserId.valueOf(id);
 
-        Class<?> parserClass = parsers.get(parserId.getId());
+        Class<?> parserClass = loaded.get(parserId.getId());
 
         if (parserClass != null) {
             try {
@@ -78,7 +84,7 @@ public class ParserLoader {
                 } else {
                     Constructor<?> constructor = parserClass.getConstructor(parserId.getParametersTypes().toArray(new Class<?>[]{}));
 
-                    return (Parser) constructor.newInstance(parserId.getParameters());
+                    return (Parser) constructor.newInstance(parserId.getParameters().toArray());
                 }
             } catch (Exception e) {
                 throw new IllegalUseException(String.format("An exception occurred while instantiating the parser '%s'.",
@@ -0,0 +1,145 @@
+package com.search2sql.impl.interpreter.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * This is an immutable set of stopwords that is checked for every search term and therefore has to be fast.
+ * <br><br>
+ * The words are stored case folded in an open-addressed hash table (linear probing) that is at most half full.
+ * Looking up a term folds its characters on the fly, so {@link StopwordSet#contains(CharSequence)} doesn't allocate
+ * anything and <i>GmbH</i> is found when <i>gmbh</i> was added.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public final class StopwordSet {
+
+    /**
+     * This is an empty set that doesn't contain any word.
+     */
+    public static final StopwordSet EMPTY = new StopwordSet();
+
+    private final String[] table;
+    private final int mask;
+    private final int size;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param words the stopwords (case insensitive)
+     */
+    public StopwordSet(String... words) {
+        this(Arrays.asList(words));
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param words the stopwords (case insensitive)
+     */
+    public StopwordSet(Collection<String> words) {
+        // the capacity is a power of two and at least twice the count of words
+        int capacity = 2;
+
+        while (capacity < words.size() * 2) {
+            capacity <<= 1;
+        }
+
+        this.table = new String[capacity];
+        this.mask = capacity - 1;
+
+        int count = 0;
+
+        for (String word : words) {
+            String folded = fold(word);
+            int slot = hash(folded) & mask;
+
+            // find the slot of the word or the next free one
+            while (table[slot] != null && !table[slot].equals(folded)) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (table[slot] == null) {
+                table[slot] = folded;
+                count++;
+            }
+        }
+
+        this.size = count;
+    }
+
+    /**
+     * This method checks if the given term is a stopword. The case of the term is ignored.
+     *
+     * @param term the search term
+     * @return true if the term is a stopword
+     */
+    public boolean contains(CharSequence term) {
+        if (size == 0) {
+            return false;
+        }
+
+        int slot = hash(term) & mask;
+
+        // the table is never full, so there's always a free slot that ends the probing
+        while (table[slot] != null) {
+            if (equals(table[slot], term)) {
+                return true;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the count of stopwords.
+     *
+     * @return count of stopwords
+     */
+    public int size() {
+        return size;
+    }
+
+    private static boolean equals(String folded, CharSequence term) {
+        if (folded.length() != term.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < folded.length(); i++) {
+            if (folded.charAt(i) != fold(term.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int hash(CharSequence term) {
+        int hash = 0;
+
+        for (int i = 0; i < term.length(); i++) {
+            hash = 31 * hash + fold(term.charAt(i));
+        }
+
+        // spread the higher bits because only the lower bits are used
+        return hash ^ (hash >>> 16);
+    }
+
+    private static String fold(String word) {
+        char[] chars = word.toCharArray();
+
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+
+        return new String(chars);
+    }
+
+    private static char fold(char c) {
+        // the same folding as String#equalsIgnoreCase
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -0,0 +1,183 @@
+package com.search2sql.impl.interpreter.util;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.query.Query;
+import com.search2sql.query.SubQuery;
+import com.search2sql.query.expression.Expression;
+import com.search2sql.query.expression.ExpressionConverter;
+import com.search2sql.query.expression.Junction;
+import com.search2sql.query.expression.Negation;
+import com.search2sql.query.expression.Predicate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * This is a filter stage of the interpreters that removes text terms which would match nearly every row (e.g.
+ * <code>LIKE '%a%'</code>).
+ * <br><br>
+ * A term of the {@link com.search2sql.impl.parser.provided.TextParser TextParser} is filtered if it is shorter than the
+ * minimal length or if it is in the {@link StopwordSet}. Quoted terms are never filtered because the user explicitly
+ * searched for them. Only the text predicates of the term are filtered, so <i>1</i> is still searched in the number
+ * columns. A term is only counted as dropped if none of its predicates is left.
+ * <br><br>
+ * Filtered terms are either dropped or the search is rejected with the error code <code>7</code>. The count of the
+ * dropped terms is saved in the {@link Query#getDroppedTerms() query}. If every term of a search is dropped, the
+ * search is rejected as well because an empty search would select the whole table.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class TermFilter {
+
+    private static final String SIMPLE = "simple";
+
+    private final int minLength;
+    private final StopwordSet stopwords;
+    private final boolean reject;
+
+    /**
+     * This constructor drops terms shorter than the minimal length.
+     *
+     * @param minLength minimal length of a term
+     */
+    public TermFilter(int minLength) {
+        this(minLength, StopwordSet.EMPTY, false);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param minLength minimal length of a term
+     * @param stopwords words that aren't searched
+     * @param reject true if the search is rejected, false if the terms are dropped
+     */
+    public TermFilter(int minLength, StopwordSet stopwords, boolean reject) {
+        this.minLength = minLength;
+        this.stopwords = stopwords;
+        this.reject = reject;
+    }
+
+    /**
+     * This method removes all filtered text terms from the interpreted query.
+     *
+     * @param query interpreted query
+     * @return filtered query
+     * @throws InvalidSearchException thrown if a term is filtered and the filter rejects or if every term was dropped
+     */
+    public Query filter(Query query) throws InvalidSearchException {
+        Expression expression = ExpressionConverter.toExpression(query.getSubQueries());
+
+        // the dropped terms are counted case insensitive and only once
+        Set<String> dropped = new HashSet<>();
+        Expression filtered = filter(expression, dropped);
+
+        if (dropped.isEmpty()) {
+            return query;
+        } else if (filtered == null) {
+            // nothing is left to search
+            throw new InvalidSearchException(7);
+        }
+
+        LinkedList<SubQuery> subQueries = ExpressionConverter.toSubQueries(filtered);
+
+        // a term is only dropped if none of its predicates is left (e.g. 1 is still searched in the number columns)
+        for (SubQuery subQuery : subQueries) {
+            if (subQuery.getParserId() != null && subQuery.getTerm() != null) {
+                dropped.remove(subQuery.getTerm().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        query.setSubQueries(subQueries);
+        query.setDroppedTerms(query.getDroppedTerms() + dropped.size());
+
+        return query;
+    }
+
+    /**
+     * This method checks if a term is filtered.
+     *
+     * @param term search term
+     * @return true if the term is too short or a stopword
+     */
+    public boolean isFiltered(CharSequence term) {
+        return term.length() < minLength || stopwords.contains(term);
+    }
+
+    /**
+     * This method saves the search term in the sub-query if the parser didn't, so the filter knows which predicates
+     * belong to the same term. It is called by the interpreters for every parsed sub-query.
+     *
+     * @param subQuery parsed sub-query
+     * @param term search term the sub-query was parsed from
+     */
+    public static void keepTerm(SubQuery subQuery, String term) {
+        if (subQuery.getTerm() == null) {
+            subQuery.setTerm(term);
+        }
+    }
+
+    private Expression filter(Expression expression, Set<String> dropped) throws InvalidSearchException {
+        if (expression instanceof Predicate) {
+            SubQuery subQuery = ((Predicate) expression).getSubQuery();
+
+            if (!isText(subQuery) || !isFiltered(subQuery.getTerm())) {
+                return expression;
+            } else if (reject) {
+                throw new InvalidSearchException(7);
+            }
+
+            dropped.add(subQuery.getTerm().toLowerCase(Locale.ROOT));
+
+            return null;
+        } else if (expression instanceof Negation) {
+            Expression operand = filter(((Negation) expression).getOperand(), dropped);
+
+            return operand == null ? null : new Negation(operand);
+        } else if (expression instanceof Junction) {
+            Junction junction = (Junction) expression;
+            List<Expression> operands = new ArrayList<>();
+
+            for (Expression operand : junction.getOperands()) {
+                Expression filtered = filter(operand, dropped);
+
+                if (filtered != null) {
+                    operands.add(filtered);
+                }
+            }
+
+            if (operands.isEmpty()) {
+                return null;
+            }
+
+            return operands.size() == 1 ? operands.get(0) : new Junction(junction.getType(), operands);
+        }
+
+        return expression;
+    }
+
+    private boolean isText(SubQuery subQuery) {
+        // quotes have the type 'quote' and are kept
+        return ParserTypes.TEXT.equals(subQuery.getParserId())
+                && subQuery.getTerm() != null
+                && subQuery.getType() != null
+                && subQuery.getType().startsWith(SIMPLE);
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public StopwordSet getStopwords() {
+        return stopwords;
+    }
+
+    public boolean isReject() {
+        return reject;
+    }
+}
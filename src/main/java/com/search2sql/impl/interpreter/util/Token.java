@@ -0,0 +1,78 @@
+package com.search2sql.impl.interpreter.util;
+
+/**
+ * This is a token of a search expression read by the {@link Lexer}. It knows its position in the original search, so
+ * problems can be reported where they occurred.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class Token {
+
+    /**
+     * This enum defines the types of tokens.
+     */
+    public enum Type {
+
+        /**
+         * A word or a quote that is parsed by the parsers (keywords are words too).
+         */
+        WORD,
+
+        /**
+         * An opening parenthesis.
+         */
+        OPEN,
+
+        /**
+         * A closing parenthesis.
+         */
+        CLOSE
+    }
+
+    private final Type type;
+    private final String text;
+    private final int start;
+    private final int end;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param type type of the token
+     * @param text text of the token
+     * @param start index of the first character in the search
+     * @param end index after the last character in the search
+     */
+    public Token(Type type, String text, int start, int end) {
+        this.type = type;
+        this.text = text;
+        this.start = start;
+        this.end = end;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return "Token{" +
+                "type=" + type +
+                ", text='" + text + '\'' +
+                ", start=" + start +
+                ", end=" + end +
+                '}';
+    }
+}
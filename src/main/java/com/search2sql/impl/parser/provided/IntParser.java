@@ -11,9 +11,9 @@ import java.util.regex.Pattern;
 @SearchParser("default.int")
 public class IntParser extends RangeParser {
 
-    private static final String normalRegex = "^\\s*(?:|\\+|-)\\d+\\s*$";
+    private static final Pattern normalPattern = Pattern.compile("^\\s*(?:|\\+|-)\\d+\\s*$");
 
-    private final String rangeRegex;
+    private final Pattern rangePattern;
 
     public IntParser() {
         this(true);
@@ -26,70 +26,77 @@ public class IntParser extends RangeParser {
     public IntParser(String delimiter) {
         super(delimiter);
 
-        rangeRegex = "^\\s*(?:|\\+|-)\\d*\\s*" + delimiter + "\\s*(?:|\\+|-)\\d*\\s*$";
+        // the patterns are compiled once instead of for every sub-query
+        rangePattern = delimiter == null ? null : Pattern.compile("^\\s*(?<first>(?:|\\+|-)\\d*)\\s*" + delimiter
+                + "\\s*(?<last>(?:|\\+|-)\\d*)\\s*$");
     }
 
     @Override
     public boolean isParserFor(String subQuery) {
-        if (getDelimiter() != null) {
-            return subQuery.matches(rangeRegex) || subQuery.matches(normalRegex);
+        if (rangePattern != null) {
+            return rangePattern.matcher(subQuery).matches() || normalPattern.matcher(subQuery).matches();
         }
 
-        return subQuery.matches(normalRegex);
+        return normalPattern.matcher(subQuery).matches();
     }
 
     @Override
     public SubQuery parse(String subQuery) throws InvalidSearchException {
-        if (getDelimiter() != null && subQuery.matches(rangeRegex)) {
-            Matcher matcher = Pattern.compile("^\\s*(?<first>(?:|\\+|-)\\d*)\\s*" + getDelimiter() + "\\s*(?<last>(?:|\\+|-)\\d*)\\s*$").matcher(subQuery);
-
-            if (matcher.find()) {
-                String first = matcher.group("first");
-                String last = matcher.group("last");
-
-                if (!first.isEmpty() && last.isEmpty()) {
-                    int firstParsed;
-
-                    try {
-                        firstParsed = Integer.parseInt(first);
-                    } catch (NumberFormatException nfe) {
-                        throw new InvalidSearchException(3);
-                    }
-
-                    return new SubQuery("default.int", "range.min", firstParsed);
-                } else if (first.isEmpty() && !last.isEmpty()) {
-                    int lastParsed;
-
-                    try {
-                        lastParsed = Integer.parseInt(last);
-                    } catch (NumberFormatException nfe) {
-                        throw new InvalidSearchException(3);
-                    }
-
-                    return new SubQuery("default.int", "range.max", lastParsed);
-                } else if (!first.isEmpty()) {
-                    int firstParsed;
-                    int lastParsed;
-
-                    try {
-                        firstParsed = Integer.parseInt(first);
-                        lastParsed = Integer.parseInt(last);
-                    } catch (NumberFormatException nfe) {
-                        throw new InvalidSearchException(3);
-                    }
-
-                    if (firstParsed > lastParsed) {
-                        throw new InvalidSearchException(4);
-                    }
-
-                    return new SubQuery("default.int", "range", new int[]{firstParsed, lastParsed});
-                } else {
-                    throw new InvalidSearchException(5);
+        return parse(subQuery, true);
+    }
+
+    @Override
+    public void validate(String subQuery) throws InvalidSearchException {
+        parse(subQuery, false);
+    }
+
+    private SubQuery parse(String subQuery, boolean create) throws InvalidSearchException {
+        Matcher matcher = rangePattern == null ? null : rangePattern.matcher(subQuery);
+
+        if (matcher != null && matcher.matches()) {
+            String first = matcher.group("first");
+            String last = matcher.group("last");
+
+            if (!first.isEmpty() && last.isEmpty()) {
+                int firstParsed;
+
+                try {
+                    firstParsed = Integer.parseInt(first);
+                } catch (NumberFormatException nfe) {
+                    throw new InvalidSearchException(3);
                 }
+
+                return create ? new SubQuery("default.int", "range.min", firstParsed) : null;
+            } else if (first.isEmpty() && !last.isEmpty()) {
+                int lastParsed;
+
+                try {
+                    lastParsed = Integer.parseInt(last);
+                } catch (NumberFormatException nfe) {
+                    throw new InvalidSearchException(3);
+                }
+
+                return create ? new SubQuery("default.int", "range.max", lastParsed) : null;
+            } else if (!first.isEmpty()) {
+                int firstParsed;
+                int lastParsed;
+
+                try {
+                    firstParsed = Integer.parseInt(first);
+                    lastParsed = Integer.parseInt(last);
+                } catch (NumberFormatException nfe) {
+                    throw new InvalidSearchException(3);
+                }
+
+                if (firstParsed > lastParsed) {
+                    throw new InvalidSearchException(4);
+                }
+
+                return create ? new SubQuery("default.int", "range", new int[]{firstParsed, lastParsed}) : null;
             } else {
-                throw new InvalidSearchException(0);
+                throw new InvalidSearchException(5);
             }
-        } else if (subQuery.matches(normalRegex)) {
+        } else if (normalPattern.matcher(subQuery).matches()) {
             int parsed;
 
             try {
@@ -98,7 +105,7 @@ public class IntParser extends RangeParser {
                 throw new InvalidSearchException(3);
             }
 
-            return new SubQuery("default.int", "simple", parsed);
+            return create ? new SubQuery("default.int", "simple", parsed) : null;
         } else {
             throw new InvalidSearchException(0);
         }
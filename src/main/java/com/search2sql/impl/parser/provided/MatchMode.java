@@ -0,0 +1,171 @@
+package com.search2sql.impl.parser.provided;
+
+/**
+ * This enum defines how the {@link TextParser} matches a text value.
+ * <br><br>
+ * The mode is carried through the type of the generated {@link com.search2sql.query.SubQuery SubQuery}, so every mode
+ * can be translated with its own template. The type is <code>simple</code> or <code>quote</code> followed by the
+ * suffix of the mode (e.g. <code>simple.fulltext</code>). The default mode {@link MatchMode#CONTAINS} has no suffix.
+ * <br><br>
+ * The modes using <code>LIKE</code> escape the metacharacters <code>%</code> and <code>_</code> of the search term with
+ * {@link MatchMode#ESCAPE_CHARACTER}, so a search for <i>100%</i> doesn't turn into a wildcard. The templates of these
+ * modes must therefore declare the escape character (<code>LIKE( ? ) ESCAPE '!'</code>). The exclamation mark is used
+ * because a backslash is an escape character in the string literals of some databases (e.g. MySQL).
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public enum MatchMode {
+
+    /**
+     * The column must be equal to the value (<code>= value</code>). This can be served by any index.
+     */
+    EXACT("exact"),
+
+    /**
+     * The column must start with the value (<code>value%</code>). This can be served by a B-tree index and fits
+     * identifier-like columns (SKUs, emails, last names).
+     */
+    PREFIX("prefix"),
+
+    /**
+     * The value may be contained anywhere in the column (<code>%value%</code>). This is the default.
+     */
+    CONTAINS(null),
+
+    /**
+     * The user controls the wildcards. Every <code>*</code> in the value matches any characters (e.g. <i>mül*er</i>).
+     * Without a <code>*</code> the value must be equal to the column.
+     */
+    WILDCARD("wildcard"),
+
+    /**
+     * The value is searched with the full-text search of the database. The value is bound as it is and quotes are
+     * searched as phrases. The templates for the supported dialects can be found in the <code>fulltext</code> folder
+     * of the resources.
+     */
+    FULL_TEXT("fulltext");
+
+    /**
+     * This is the character that escapes the metacharacters of a <code>LIKE</code> pattern.
+     */
+    public static final char ESCAPE_CHARACTER = '!';
+
+    private final String suffix;
+
+    MatchMode(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * Returns the suffix that is appended to the type of the sub-query or <code>null</code> if no suffix is appended.
+     *
+     * @return suffix of the type
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * This method appends the suffix of this mode to the given base type.
+     *
+     * @param type base type (<code>simple</code> or <code>quote</code>)
+     * @return type of the sub-query
+     */
+    public String type(String type) {
+        return suffix == null ? type : type + "." + suffix;
+    }
+
+    /**
+     * This method shapes the plain search term into the value that is bound for this mode (e.g. <code>term%</code>
+     * for {@link MatchMode#PREFIX}).
+     *
+     * @param term plain search term
+     * @return shaped value
+     */
+    public String shape(String term) {
+        switch (this) {
+            case PREFIX:
+                return escape(term) + "%";
+            case CONTAINS:
+                return "%" + escape(term) + "%";
+            case WILDCARD:
+                // the asterisk isn't a metacharacter, so it survives the escaping
+                return escape(term).replace('*', '%');
+            default:
+                // the database compares the plain value
+                return term;
+        }
+    }
+
+    /**
+     * This method checks if the values of this mode are used as <code>LIKE</code> pattern.
+     *
+     * @return true if the value is a pattern
+     */
+    public boolean isPattern() {
+        return this == PREFIX || this == CONTAINS || this == WILDCARD;
+    }
+
+    /**
+     * This method escapes all metacharacters of a <code>LIKE</code> pattern (<code>%</code>, <code>_</code> and the
+     * {@link MatchMode#ESCAPE_CHARACTER escape character} itself) in the given term.
+     *
+     * @param term plain search term
+     * @return term that only matches itself in a pattern
+     */
+    public static String escape(String term) {
+        StringBuilder builder = null;
+
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+
+            if (c == '%' || c == '_' || c == ESCAPE_CHARACTER) {
+                // only copy the term if there's something to escape
+                if (builder == null) {
+                    builder = new StringBuilder(term.length() + 8).append(term, 0, i);
+                }
+
+                builder.append(ESCAPE_CHARACTER);
+            }
+
+            if (builder != null) {
+                builder.append(c);
+            }
+        }
+
+        return builder == null ? term : builder.toString();
+    }
+
+    /**
+     * This method finds the mode of a sub-query by its type (e.g. <code>simple.prefix</code>).
+     *
+     * @param type type of a sub-query generated by the {@link TextParser}
+     * @return mode of the sub-query
+     * @throws IllegalArgumentException thrown if the suffix of the type isn't a mode
+     */
+    public static MatchMode ofType(String type) throws IllegalArgumentException {
+        int dot = type == null ? -1 : type.indexOf('.');
+
+        // no suffix means the default mode
+        return dot < 0 ? CONTAINS : of(type.substring(dot + 1));
+    }
+
+    /**
+     * This method finds the mode by its name. The name is case insensitive and may either be the name of the constant
+     * or the suffix (e.g. <code>fulltext</code>).
+     *
+     * @param name name of the mode
+     * @return found mode
+     * @throws IllegalArgumentException thrown if there is no mode with this name
+     */
+    public static MatchMode of(String name) throws IllegalArgumentException {
+        for (MatchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name) || (mode.suffix != null && mode.suffix.equalsIgnoreCase(name))) {
+                return mode;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("There is no match mode '%s'.", name));
+    }
+}
@@ -5,12 +5,13 @@ import com.search2sql.query.SubQuery;
 import com.search2sql.parser.Parser;
 import com.search2sql.parser.SearchParser;
 
-import java.util.Set;
-
 /**
  * This is a default implementation of the {@link Parser}. This parser is for parsing any strings.
  * <br><br>
- * This implementation has no settings.
+ * This implementation can be configured with a {@link MatchMode} that defines how the value is matched. The mode can
+ * also be set with the parser id, e.g. <code>default.text#prefix</code> or <code>default.text#false, exact</code>
+ * (not quoted). The mode is appended to the type of the generated {@link SubQuery}, so <code>sql.properties</code> can
+ * map each mode to its own index-friendly template.
  * <br><br>
  * This implementation parses literally everything that is not a whitespace.
  *
@@ -20,16 +21,32 @@ import java.util.Set;
 @SearchParser("default.text")
 public class TextParser extends QuotedParser {
 
+    private final MatchMode mode;
+
     public TextParser() {
         this(true);
     }
 
     public TextParser(boolean quoted) {
-        super(quoted ? '"' : Character.MIN_VALUE);
+        this(quoted ? '"' : Character.MIN_VALUE, MatchMode.CONTAINS);
     }
 
     public TextParser(char quotation) {
+        this(quotation, MatchMode.CONTAINS);
+    }
+
+    public TextParser(String mode) {
+        this(true, mode);
+    }
+
+    public TextParser(boolean quoted, String mode) {
+        this(quoted ? '"' : Character.MIN_VALUE, MatchMode.of(mode));
+    }
+
+    public TextParser(char quotation, MatchMode mode) {
         super(quotation);
+
+        this.mode = mode;
     }
 
     public boolean isParserFor(String subQuery) {
@@ -44,9 +61,28 @@ public class TextParser extends QuotedParser {
             processed = processed.replaceAll("^\\s*" + getQuotation(), "");
             processed = processed.replaceAll(getQuotation() + "\\s*$", "");
 
-            return new SubQuery("default.text", "quote", "%" + processed + "%");
+            return subQuery("quote", processed);
         }
 
-        return new SubQuery("default.text", "simple", "%" + subQuery + "%");
+        return subQuery("simple", subQuery);
+    }
+
+    private SubQuery subQuery(String type, String term) {
+        // the mode defines the type and how the term is shaped
+        SubQuery result = new SubQuery("default.text", mode.type(type), mode.shape(term));
+
+        // keep the plain term so the sub-query can be shaped for another mode later
+        result.setTerm(term);
+
+        return result;
+    }
+
+    /**
+     * Returns the mode that is used for matching values.
+     *
+     * @return used match mode
+     */
+    public MatchMode getMode() {
+        return mode;
     }
 }
@@ -0,0 +1,222 @@
+package com.search2sql.impl.rewriter;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.query.Query;
+import com.search2sql.query.SqlArray;
+import com.search2sql.query.SubQuery;
+import com.search2sql.query.expression.Expression;
+import com.search2sql.query.expression.ExpressionConverter;
+import com.search2sql.query.expression.Junction;
+import com.search2sql.query.expression.Negation;
+import com.search2sql.query.expression.Predicate;
+import com.search2sql.rewriter.Rewriter;
+
+import java.util.*;
+
+/**
+ * This {@link Rewriter} collapses equality terms on the same column that are connected by <code>OR</code> into one
+ * single predicate.
+ * <br><br>
+ * A search like <i>1001 1002 1003</i> is normally translated to <code>( id = ? ) OR ( id = ? ) OR ( id = ? )</code>.
+ * This rewriter turns it into <code>id IN ( ?, ?, ? )</code> (type <code>in</code>) or, if arrays are enabled, into
+ * <code>id = ANY( ? )</code> (type <code>any</code>) with one {@link SqlArray} parameter. The translation of both types
+ * is read from the <code>.properties</code> file like every other type, e.g. <code>default.int.in</code>.
+ * <br><br>
+ * Because every count of values produces another sql string, the lists can be padded to fixed sizes (buckets). The
+ * padding repeats the last value, which doesn't change the result. Values larger than the largest bucket are padded
+ * to a multiple of it. Arrays always produce the same sql string and therefore are never padded.
+ * <br><br>
+ * Only sub-queries of the type <code>simple</code> are collapsed because this is the type the provided parsers use
+ * for equality.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class InListRewriter extends Rewriter {
+
+    private static final String SIMPLE = "simple";
+    private static final String IN = "in";
+    private static final String ANY = "any";
+
+    private final Map<String, String> parserTypes;
+    private final boolean arrays;
+    private final int[] buckets;
+
+    /**
+     * This constructor collapses integer columns into <code>IN</code> lists without padding.
+     */
+    public InListRewriter() {
+        this(false);
+    }
+
+    /**
+     * This constructor collapses integer columns either into <code>IN</code> lists without padding or into arrays.
+     *
+     * @param arrays true if a single array should be bound (only if the dialect supports it)
+     */
+    public InListRewriter(boolean arrays) {
+        this(Collections.singletonMap(ParserTypes.INT, "integer"), arrays, null);
+    }
+
+    /**
+     * This constructor collapses integer columns into <code>IN</code> lists that are padded to the given sizes.
+     *
+     * @param buckets sizes the lists are padded to
+     */
+    public InListRewriter(int... buckets) {
+        this(Collections.singletonMap(ParserTypes.INT, "integer"), false, buckets);
+    }
+
+    /**
+     * This constructor defines everything.
+     *
+     * @param parserTypes ids of the parsers whose sub-queries are collapsed mapped to the sql name of their array
+     *                    element type (only used for arrays)
+     * @param arrays true if a single array should be bound (only if the dialect supports it)
+     * @param buckets sizes the lists are padded to (<code>null</code> for no padding)
+     */
+    public InListRewriter(Map<String, String> parserTypes, boolean arrays, int[] buckets) {
+        this.parserTypes = Collections.unmodifiableMap(new HashMap<>(parserTypes));
+        this.arrays = arrays;
+
+        if (buckets != null && buckets.length > 0) {
+            this.buckets = buckets.clone();
+
+            Arrays.sort(this.buckets);
+        } else {
+            this.buckets = null;
+        }
+    }
+
+    /**
+     * This method collapses all equality terms that are connected by <code>OR</code> and on the same column.
+     *
+     * @param query interpreted query
+     * @return rewritten query
+     */
+    @Override
+    public Query rewrite(Query query) {
+        Expression expression = ExpressionConverter.toExpression(query.getSubQueries());
+
+        query.setSubQueries(ExpressionConverter.toSubQueries(rewrite(expression)));
+
+        return query;
+    }
+
+    private Expression rewrite(Expression expression) {
+        if (expression instanceof Negation) {
+            return new Negation(rewrite(((Negation) expression).getOperand()));
+        } else if (expression instanceof Junction) {
+            Junction junction = (Junction) expression;
+            List<Expression> operands = new ArrayList<>();
+
+            for (Expression operand : junction.getOperands()) {
+                Expression rewritten = rewrite(operand);
+
+                // OR is associative, so nested ORs are merged into this one
+                if (junction.isOr() && rewritten instanceof Junction && ((Junction) rewritten).isOr()) {
+                    operands.addAll(((Junction) rewritten).getOperands());
+                } else {
+                    operands.add(rewritten);
+                }
+            }
+
+            if (junction.isOr()) {
+                operands = collapse(operands);
+            }
+
+            return operands.size() == 1 ? operands.get(0) : new Junction(junction.getType(), operands);
+        }
+
+        return expression;
+    }
+
+    private List<Expression> collapse(List<Expression> operands) {
+        // collect the values of all equality terms grouped by parser and column, keeping their first position
+        Map<String, Set<Object>> values = new LinkedHashMap<>();
+
+        for (Expression operand : operands) {
+            if (isCollapsible(operand)) {
+                SubQuery subQuery = ((Predicate) operand).getSubQuery();
+
+                values.computeIfAbsent(key(subQuery), k -> new LinkedHashSet<>()).add(subQuery.getValue());
+            }
+        }
+
+        List<Expression> result = new ArrayList<>();
+        Set<String> added = new HashSet<>();
+
+        for (Expression operand : operands) {
+            if (!isCollapsible(operand)) {
+                result.add(operand);
+
+                continue;
+            }
+
+            SubQuery subQuery = ((Predicate) operand).getSubQuery();
+            String key = key(subQuery);
+            Set<Object> group = values.get(key);
+
+            if (group.size() < 2) {
+                // a single value (maybe searched multiple times) stays a simple equality
+                if (added.add(key)) {
+                    result.add(operand);
+                }
+            } else if (added.add(key)) {
+                result.add(new Predicate(collapse(subQuery, new ArrayList<>(group))));
+            }
+        }
+
+        return result;
+    }
+
+    private SubQuery collapse(SubQuery first, List<Object> values) {
+        if (arrays) {
+            SqlArray array = new SqlArray(parserTypes.get(first.getParserId()), values.toArray());
+
+            return new SubQuery(first.getParserId(), first.getColumnName(), ANY, array);
+        }
+
+        int size = padding(values.size());
+
+        while (values.size() < size) {
+            values.add(values.get(values.size() - 1));
+        }
+
+        return new SubQuery(first.getParserId(), first.getColumnName(), IN, values);
+    }
+
+    private int padding(int size) {
+        if (buckets == null) {
+            return size;
+        }
+
+        for (int bucket : buckets) {
+            if (bucket >= size) {
+                return bucket;
+            }
+        }
+
+        // larger than the largest bucket, so round up to a multiple of it
+        int largest = buckets[buckets.length - 1];
+
+        return ((size + largest - 1) / largest) * largest;
+    }
+
+    private boolean isCollapsible(Expression expression) {
+        if (!(expression instanceof Predicate)) {
+            return false;
+        }
+
+        SubQuery subQuery = ((Predicate) expression).getSubQuery();
+
+        return subQuery.getParserId() != null
+                && parserTypes.containsKey(subQuery.getParserId())
+                && SIMPLE.equalsIgnoreCase(subQuery.getType())
+                && subQuery.getValue() != null;
+    }
+
+    private String key(SubQuery subQuery) {
+        return subQuery.getParserId() + "\u0000" + subQuery.getColumnName();
+    }
+}
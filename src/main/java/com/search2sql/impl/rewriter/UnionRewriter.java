@@ -0,0 +1,160 @@
+package com.search2sql.impl.rewriter;
+
+import com.search2sql.query.Query;
+import com.search2sql.query.SubQuery;
+import com.search2sql.query.expression.Expression;
+import com.search2sql.query.expression.ExpressionConverter;
+import com.search2sql.query.expression.Fragment;
+import com.search2sql.query.expression.Junction;
+import com.search2sql.query.expression.Negation;
+import com.search2sql.query.expression.Predicate;
+import com.search2sql.rewriter.Rewriter;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This {@link Rewriter} rewrites predicates on different, indexed columns that are connected by <code>OR</code> into
+ * a <code>UNION</code> of sub-selects over the primary key.
+ * <br><br>
+ * When a value matches several columns (e.g. an integer matching <code>id</code>, <code>customer_no</code> and
+ * <code>zip</code>), the result is <code>( id = ? OR customer_no = ? OR zip = ? )</code>. Many databases can't use
+ * three indexes for that and scan the whole table instead. This rewriter turns it into:
+ * <br><br>
+ * <code>pk IN ( SELECT pk FROM table WHERE id = ? UNION ALL SELECT pk FROM table WHERE customer_no = ? UNION ALL ... )</code>
+ * <br><br>
+ * where every sub-select can use the index of its column. An <code>OR</code> is only rewritten if all of its operands
+ * are simple predicates on columns that are marked as {@link Column#isIndexed() indexed}, if they belong to the same
+ * {@link Table} with a {@link Table#getPrimaryKey() primary key} and if at least two different columns are used.
+ * <br><br>
+ * The sql pieces are read from the <code>.properties</code> file (<code>sql.union.*</code>).
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class UnionRewriter extends Rewriter {
+
+    private static final String OPEN = "sql.union.open";
+    private static final String SELECT = "sql.union.select";
+    private static final String CONNECTOR = "sql.union.connector";
+    private static final String CONNECTOR_ALL = "sql.union.connector.all";
+    private static final String CLOSE = "sql.union.close";
+
+    private final boolean all;
+
+    /**
+     * This constructor uses <code>UNION ALL</code> because duplicates don't matter inside of <code>IN</code> and the
+     * database doesn't have to remove them.
+     */
+    public UnionRewriter() {
+        this(true);
+    }
+
+    /**
+     * This constructor defines if <code>UNION ALL</code> or <code>UNION</code> is used.
+     *
+     * @param all true if <code>UNION ALL</code> should be used
+     */
+    public UnionRewriter(boolean all) {
+        this.all = all;
+    }
+
+    /**
+     * This method rewrites every <code>OR</code> across indexed columns into a <code>UNION</code>.
+     *
+     * @param query interpreted query
+     * @return rewritten query
+     */
+    @Override
+    public Query rewrite(Query query) {
+        Expression expression = ExpressionConverter.toExpression(query.getSubQueries());
+
+        query.setSubQueries(ExpressionConverter.toSubQueries(rewrite(expression, query.getTableConfig())));
+
+        return query;
+    }
+
+    private Expression rewrite(Expression expression, TableConfig tableConfig) {
+        if (expression instanceof Negation) {
+            return new Negation(rewrite(((Negation) expression).getOperand(), tableConfig));
+        } else if (expression instanceof Junction) {
+            Junction junction = (Junction) expression;
+            List<Expression> operands = new ArrayList<>();
+
+            for (Expression operand : junction.getOperands()) {
+                Expression rewritten = rewrite(operand, tableConfig);
+
+                // OR is associative, so nested ORs are merged into this one
+                if (junction.isOr() && rewritten instanceof Junction && ((Junction) rewritten).isOr()) {
+                    operands.addAll(((Junction) rewritten).getOperands());
+                } else {
+                    operands.add(rewritten);
+                }
+            }
+
+            if (junction.isOr()) {
+                Fragment union = union(operands, tableConfig);
+
+                if (union != null) {
+                    return union;
+                }
+            }
+
+            return new Junction(junction.getType(), operands);
+        }
+
+        return expression;
+    }
+
+    private Fragment union(List<Expression> operands, TableConfig tableConfig) {
+        Table table = null;
+        Set<Column> columns = new HashSet<>();
+
+        for (Expression operand : operands) {
+            if (!(operand instanceof Predicate)) {
+                return null;
+            }
+
+            SubQuery subQuery = ((Predicate) operand).getSubQuery();
+            Table current = tableConfig.getTable(subQuery.getColumnName());
+            Column column = current == null ? null : current.getColumn(subQuery.getColumnName());
+
+            // every column must be indexed and in the same table that has a primary key
+            if (column == null || !column.isIndexed() || current.getPrimaryKey() == null || (table != null && table != current)) {
+                return null;
+            }
+
+            table = current;
+            columns.add(column);
+        }
+
+        // a single column can use its index anyway
+        if (columns.size() < 2) {
+            return null;
+        }
+
+        String primaryKey = table.getPrefix() != null ? table.getPrefix() + "." + table.getPrimaryKey() : table.getPrimaryKey();
+        List<SubQuery> subQueries = new LinkedList<>();
+
+        subQueries.add(new SubQuery(null, primaryKey, OPEN, null));
+
+        for (int i = 0; i < operands.size(); i++) {
+            if (i > 0) {
+                subQueries.add(new SubQuery(null, null, all ? CONNECTOR_ALL : CONNECTOR, null));
+            }
+
+            subQueries.add(new SubQuery(null, primaryKey, SELECT, null));
+            subQueries.add(((Predicate) operands.get(i)).getSubQuery());
+        }
+
+        subQueries.add(new SubQuery(null, null, CLOSE, null));
+
+        return new Fragment(subQueries);
+    }
+}
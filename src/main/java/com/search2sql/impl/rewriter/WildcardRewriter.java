@@ -0,0 +1,160 @@
+package com.search2sql.impl.rewriter;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.parser.provided.MatchMode;
+import com.search2sql.query.Query;
+import com.search2sql.query.SubQuery;
+import com.search2sql.rewriter.Rewriter;
+
+/**
+ * This {@link Rewriter} protects the database from pathological <code>LIKE</code> patterns.
+ * <br><br>
+ * A pattern like <code>%a%_%b%_%c%</code> is evaluated with backtracking over every row and can take very long. This
+ * rewriter counts the wildcard groups (consecutive <code>%</code> and <code>_</code>) of every pattern generated by the
+ * {@link com.search2sql.impl.parser.provided.TextParser TextParser} and enforces a maximum before any sql is executed.
+ * <br><br>
+ * Every group is normalized first without changing its meaning: <code>%%</code> becomes <code>%</code> and
+ * <code>%_%</code> becomes <code>_%</code>. If a pattern still has too many groups, the search is either rejected
+ * (error code <code>6</code>) or the pattern is cut after the last allowed group. The cut pattern ends with
+ * <code>%</code> and thus matches everything the original pattern matched (and maybe some more rows).
+ * <br><br>
+ * The metacharacters the user typed are already escaped by the parser, so only wildcards of the
+ * {@link MatchMode#WILDCARD} mode can exceed the limit.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class WildcardRewriter extends Rewriter {
+
+    private final int maxWildcards;
+    private final boolean reject;
+
+    /**
+     * This constructor allows up to 4 wildcard groups and rejects patterns with more.
+     */
+    public WildcardRewriter() {
+        this(4, true);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param maxWildcards maximal count of wildcard groups in a pattern
+     * @param reject true if patterns with too many wildcards are rejected, false if they are cut
+     */
+    public WildcardRewriter(int maxWildcards, boolean reject) {
+        // at least the wildcards of the default mode are needed
+        if (maxWildcards < 2) {
+            throw new IllegalArgumentException("At least 2 wildcards must be allowed.");
+        }
+
+        this.maxWildcards = maxWildcards;
+        this.reject = reject;
+    }
+
+    /**
+     * This method normalizes all patterns and rejects or cuts patterns with too many wildcards.
+     *
+     * @param query interpreted query
+     * @return rewritten query
+     * @throws InvalidSearchException thrown if a pattern has too many wildcards and the patterns aren't cut
+     */
+    @Override
+    public Query rewrite(Query query) throws InvalidSearchException {
+        for (SubQuery subQuery : query.getSubQueries()) {
+            if (isPattern(subQuery)) {
+                subQuery.setValue(limit((String) subQuery.getValue()));
+            }
+        }
+
+        return query;
+    }
+
+    private String limit(String pattern) throws InvalidSearchException {
+        StringBuilder result = new StringBuilder(pattern.length());
+        int groups = 0;
+        int i = 0;
+
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+
+            if (c == MatchMode.ESCAPE_CHARACTER && i + 1 < pattern.length()) {
+                // an escaped character is a literal
+                result.append(c).append(pattern.charAt(i + 1));
+                i += 2;
+
+                continue;
+            } else if (c != '%' && c != '_') {
+                result.append(c);
+                i++;
+
+                continue;
+            }
+
+            // read the whole group of wildcards
+            int single = 0;
+            boolean any = false;
+
+            for (; i < pattern.length() && (pattern.charAt(i) == '%' || pattern.charAt(i) == '_'); i++) {
+                if (pattern.charAt(i) == '_') {
+                    single++;
+                } else {
+                    any = true;
+                }
+            }
+
+            // the group is normalized to its single wildcards followed by at most one percent sign
+            for (int j = 0; j < single; j++) {
+                result.append('_');
+            }
+
+            if (any) {
+                result.append('%');
+            }
+
+            if (++groups == maxWildcards && hasWildcard(pattern, i)) {
+                if (reject) {
+                    throw new InvalidSearchException(6);
+                }
+
+                // cut the rest of the pattern, the last group then matches everything that follows
+                if (!any) {
+                    result.append('%');
+                }
+
+                return result.toString();
+            }
+        }
+
+        return result.toString();
+    }
+
+    private boolean hasWildcard(String pattern, int start) {
+        for (int i = start; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+
+            if (c == MatchMode.ESCAPE_CHARACTER) {
+                // skip the escaped character
+                i++;
+            } else if (c == '%' || c == '_') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isPattern(SubQuery subQuery) {
+        if (!ParserTypes.TEXT.equals(subQuery.getParserId()) || !(subQuery.getValue() instanceof String)) {
+            return false;
+        }
+
+        try {
+            return MatchMode.ofType(subQuery.getType()).isPattern();
+        } catch (IllegalArgumentException e) {
+            // a type of another parser with the same id
+            return false;
+        }
+    }
+}
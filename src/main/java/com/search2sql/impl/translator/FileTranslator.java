@@ -8,6 +8,10 @@ import com.search2sql.table.Column;
 import com.search2sql.table.Table;
 import com.search2sql.translator.Translator;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -21,16 +25,33 @@ import java.util.Properties;
  * creation of custom <code>Parsers</code> because the user can add his own SQL pieces without creating an own translator.
  * Additionally, this allows to change the given pieces (e. g. another SQL dialect) because the user can create an own
  * <code>.properties</code> file that overwrites the provided pieces.
+ * <br><br>
+ * The pieces are copied into an immutable map once, so translating doesn't lock and a translator can be shared by
+ * many threads (including virtual threads).
  *
  * @author fuggerjaki61
  * @since 1.0-echo
  */
 public class FileTranslator extends Translator {
 
-    private final Properties props;
+    /**
+     * This placeholder can be used in a property value instead of <code>?</code>. It is replaced with one
+     * <code>?</code> per element when the value of the {@link SubQuery} is a {@link Collection} (e.g.
+     * <code>$ IN ( {?} )</code>).
+     */
+    public static final String LIST_PLACEHOLDER = "{?}";
 
     /**
-     * This constructor initializes an {@link Properties} object based on the <code>sql.properties</code> file.
+     * This placeholder can be used in a property value to reference the table of the {@link SubQuery SubQuery's}
+     * column. It is replaced with the name of the table followed by its prefix as alias (e.g.
+     * <code>SELECT $ FROM {table}</code>).
+     */
+    public static final String TABLE_PLACEHOLDER = "{table}";
+
+    private final Map<String, String> props;
+
+    /**
+     * This constructor loads the pieces from the <code>sql.properties</code> file.
      * This file will be used to load all pieces that help to translate the {@link Query} to an SQL string.
      * <br><br>
      * <b>See Also</b><br>
@@ -38,7 +59,7 @@ public class FileTranslator extends Translator {
      */
     public FileTranslator() {
         // load base properties
-        props = SqlPropertiesLoader.getProperties("sql.properties");
+        props = toMap(SqlPropertiesLoader.getProperties("sql.properties"));
     }
 
     /**
@@ -50,13 +71,26 @@ public class FileTranslator extends Translator {
      */
     public FileTranslator(String customProperties) {
         // initialize properties
-        props = new Properties();
+        Properties properties = new Properties();
 
         // put the default library values
-        props.putAll(SqlPropertiesLoader.getProperties("sql.properties"));
+        properties.putAll(SqlPropertiesLoader.getProperties("sql.properties"));
 
         // add (override if they already exist) the values with custom user ones
-        props.putAll(SqlPropertiesLoader.getProperties(customProperties));
+        properties.putAll(SqlPropertiesLoader.getProperties(customProperties));
+
+        props = toMap(properties);
+    }
+
+    private static Map<String, String> toMap(Properties properties) {
+        Map<String, String> map = new HashMap<>();
+
+        // the values are trimmed once instead of for every translation
+        for (String key : properties.stringPropertyNames()) {
+            map.put(key, properties.getProperty(key).trim());
+        }
+
+        return Collections.unmodifiableMap(map);
     }
 
     /**
@@ -76,24 +110,28 @@ public class FileTranslator extends Translator {
         // iterate over every SubQuery
         for (SubQuery subQuery : query.getSubQueries()) {
             // resolves the property key and loads the value
-            String property = (String) props.get(resolvePropertyKey(subQuery.getParserId(), subQuery.getType()));
+            String property = props.get(resolvePropertyKey(subQuery.getParserId(), subQuery.getType()));
 
             // checks if property exists
             if (property != null) {
                 // default is no table prefix
                 String columnPrefix = null;
 
+                // the table the column belongs to
+                Table columnTable = null;
+
                 // iterate over every table
                 for (Table table : query.getTableConfig().getTables()) {
-                    // iterate over every column in table
-                    for (Column column : table.getColumns()) {
-                        // check if column name is sub-query's column name
-                        if (column.getName().equalsIgnoreCase(subQuery.getColumnName())) {
-                            // this is the current column prefix
-                            columnPrefix = table.getPrefix();
-
-                            break;
-                        }
+                    // check if sub-query's column name already contains the table prefix
+                    boolean prefixed = table.getPrefix() != null && subQuery.getColumnName() != null
+                            && subQuery.getColumnName().toLowerCase().startsWith(table.getPrefix().toLowerCase() + ".");
+                    String columnName = prefixed ? subQuery.getColumnName().substring(table.getPrefix().length() + 1) : subQuery.getColumnName();
+
+                    // check if column name is the primary key or any column of the table
+                    if (isColumnOf(table, columnName)) {
+                        // this is the current column prefix (if it isn't already part of the name)
+                        columnPrefix = prefixed ? null : table.getPrefix();
+                        columnTable = table;
                     }
                 }
 
@@ -107,7 +145,19 @@ public class FileTranslator extends Translator {
                 }
 
                 // adds property value with $ replaced with the current column and adds table name as prefix
-                sql.append(property.trim().replaceAll("\\$", columnPrefix + subQuery.getColumnName()));
+                String translated = property.replace("$", columnPrefix + subQuery.getColumnName());
+
+                // replaces the table placeholder with the table of the column
+                if (translated.contains(TABLE_PLACEHOLDER)) {
+                    translated = translated.replace(TABLE_PLACEHOLDER, tableReference(columnTable));
+                }
+
+                // expands the list placeholder to one question mark per value
+                if (translated.contains(LIST_PLACEHOLDER)) {
+                    translated = translated.replace(LIST_PLACEHOLDER, listPlaceholders(subQuery.getValue()));
+                }
+
+                sql.append(translated);
 
                 // appends a whitespace
                 sql.append(" ");
@@ -121,6 +171,57 @@ public class FileTranslator extends Translator {
         return sql.toString().trim();
     }
 
+    private boolean isColumnOf(Table table, String columnName) {
+        if (columnName == null) {
+            return false;
+        }
+
+        if (columnName.equalsIgnoreCase(table.getPrimaryKey())) {
+            return true;
+        }
+
+        // iterate over every column in table
+        for (Column column : table.getColumns()) {
+            // check if column name is sub-query's column name
+            if (column.getName().equalsIgnoreCase(columnName)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String tableReference(Table table) {
+        if (table == null || table.getName() == null) {
+            throw new IllegalUseException("The table of a column couldn't be found or it has no name. Please set the " +
+                    "name or the prefix of the table.");
+        }
+
+        // the prefix is used as alias so the prefixed columns are still valid
+        if (table.getPrefix() != null && !table.getPrefix().equalsIgnoreCase(table.getName())) {
+            return table.getName() + " " + table.getPrefix();
+        }
+
+        return table.getName();
+    }
+
+    private String listPlaceholders(Object value) {
+        // a single value needs a single placeholder
+        int size = value instanceof Collection ? ((Collection<?>) value).size() : 1;
+
+        StringBuilder placeholders = new StringBuilder();
+
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                placeholders.append(", ");
+            }
+
+            placeholders.append("?");
+        }
+
+        return placeholders.toString();
+    }
+
     /**
      * This method resolves the property key to load the value for the current SearchQuery.<br>
      * The key consists of following pieces:<br>
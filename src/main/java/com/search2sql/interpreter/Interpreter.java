@@ -1,6 +1,8 @@
 package com.search2sql.interpreter;
 
 import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.exception.SearchError;
+import com.search2sql.limit.SearchBudget;
 import com.search2sql.parser.Parser;
 import com.search2sql.parser.SearchParser;
 import com.search2sql.query.Query;
@@ -47,6 +49,7 @@ import com.search2sql.table.TableConfig;
  * <br><br>
  * <b>Known Implementations</b><br>
  * {@link com.search2sql.impl.interpreter.BasicInterpreter}<br>
+ * {@link com.search2sql.impl.interpreter.ExpressionInterpreter}<br>
  *
  * @author fuggerjaki61
  * @since 0.0.1
@@ -73,4 +76,42 @@ public abstract class Interpreter {
      * @throws InvalidSearchException thrown if a problem occurred while parsing
      */
     public abstract Query interpret(String searchQuery, TableConfig tableConfig) throws InvalidSearchException;
+
+    /**
+     * This method interprets the search query like {@link Interpreter#interpret(String, TableConfig)} but checks the
+     * given {@link SearchBudget} cooperatively (tokens, predicates and deadline) while interpreting.
+     * <br><br>
+     * The default implementation ignores the budget. Implementations should override this method and check the
+     * budget in their loops, so a search is stopped as soon as it exceeds its budget.
+     *
+     * @param searchQuery simple string form of the search query
+     * @param tableConfig meta-information about the table (column types, etc.)
+     * @param budget budget of the search
+     * @return parsed and interpreted form of the search query
+     * @throws InvalidSearchException thrown if a problem occurred while parsing or the budget was exceeded
+     */
+    public Query interpret(String searchQuery, TableConfig tableConfig, SearchBudget budget) throws InvalidSearchException {
+        return interpret(searchQuery, tableConfig);
+    }
+
+    /**
+     * This method only checks if the search expression is valid without interpreting it into a {@link Query}. It is
+     * used to validate a search while the user types.
+     * <br><br>
+     * The default implementation interprets the search and returns its error. Implementations should override this
+     * method and only split the search and let the parsers check the parts.
+     *
+     * @param searchQuery simple string form of the search query
+     * @param tableConfig meta-information about the table (column types, etc.)
+     * @return the first error of the search or {@link SearchError#VALID}
+     */
+    public SearchError validate(CharSequence searchQuery, TableConfig tableConfig) {
+        try {
+            interpret(searchQuery.toString(), tableConfig);
+
+            return SearchError.VALID;
+        } catch (InvalidSearchException e) {
+            return new SearchError(e.getErrorCode(), e.getPosition());
+        }
+    }
 }
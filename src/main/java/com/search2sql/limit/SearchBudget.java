@@ -0,0 +1,73 @@
+package com.search2sql.limit;
+
+import com.search2sql.exception.InvalidSearchException;
+
+/**
+ * This is the budget of a single search. It is started with {@link SearchLimits#start()} and checked cooperatively by
+ * the {@link com.search2sql.interpreter.Interpreter Interpreter} while it splits and parses the search.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class SearchBudget {
+
+    /**
+     * This budget is never exhausted.
+     */
+    public static final SearchBudget UNLIMITED = new SearchBudget(SearchLimits.UNLIMITED);
+
+    private final SearchLimits limits;
+    private final long deadline;
+
+    /**
+     * This is a basic constructor initializing values. The deadline starts now.
+     *
+     * @param limits limits of the search
+     */
+    SearchBudget(SearchLimits limits) {
+        this.limits = limits;
+        this.deadline = limits.getDeadlineMillis() > 0
+                ? System.nanoTime() + limits.getDeadlineMillis() * 1_000_000L
+                : 0;
+    }
+
+    /**
+     * This method checks the count of tokens the search was split into.
+     *
+     * @param tokens count of tokens
+     * @throws InvalidSearchException thrown if there are too many tokens
+     */
+    public void checkTokens(int tokens) throws InvalidSearchException {
+        if (limits.getMaxTokens() > 0 && tokens > limits.getMaxTokens()) {
+            throw new InvalidSearchException(9);
+        }
+    }
+
+    /**
+     * This method checks the count of predicates generated until now.
+     *
+     * @param predicates count of predicates
+     * @throws InvalidSearchException thrown if there are too many predicates
+     */
+    public void checkPredicates(int predicates) throws InvalidSearchException {
+        if (limits.getMaxPredicates() > 0 && predicates > limits.getMaxPredicates()) {
+            throw new InvalidSearchException(10);
+        }
+    }
+
+    /**
+     * This method checks if the deadline has passed.
+     *
+     * @throws InvalidSearchException thrown if the deadline has passed
+     */
+    public void checkDeadline() throws InvalidSearchException {
+        // nanoTime may overflow, so only the difference is compared
+        if (deadline != 0 && System.nanoTime() - deadline > 0) {
+            throw new InvalidSearchException(12);
+        }
+    }
+
+    public SearchLimits getLimits() {
+        return limits;
+    }
+}
@@ -0,0 +1,152 @@
+package com.search2sql.limit;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.exception.SearchError;
+
+/**
+ * This class contains the limits that bound the work a single search can cause. The limits are set with the
+ * {@link com.search2sql.SearchBuilder SearchBuilder}.
+ * <br><br>
+ * Every limit that is <code>0</code> or negative is disabled. A breached limit fails the search with an
+ * {@link InvalidSearchException} with one of these error codes:
+ * <ul>
+ *     <li><code>8</code> the search is longer than the maximal input length</li>
+ *     <li><code>9</code> the search has more tokens than allowed</li>
+ *     <li><code>10</code> the search generates more predicates than allowed</li>
+ *     <li><code>11</code> the generated sql is longer than allowed</li>
+ *     <li><code>12</code> interpreting the search took longer than the deadline</li>
+ *     <li><code>16</code> the search binds more parameters than allowed</li>
+ * </ul>
+ * The query timeout isn't checked by the library. It is set on the prepared statement with
+ * {@link java.sql.Statement#setQueryTimeout(int)}, so the database cancels the search when its time is up.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class SearchLimits {
+
+    /**
+     * These limits don't limit anything.
+     */
+    public static final SearchLimits UNLIMITED = new SearchLimits(0, 0, 0, 0, 0, 0, 0);
+
+    private final int maxInputLength;
+    private final int maxTokens;
+    private final int maxPredicates;
+    private final int maxParameters;
+    private final int maxSqlLength;
+    private final long deadlineMillis;
+    private final int queryTimeout;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param maxInputLength maximal count of characters of the search
+     * @param maxTokens maximal count of tokens the search is split into
+     * @param maxPredicates maximal count of generated predicates
+     * @param maxParameters maximal count of bound parameters
+     * @param maxSqlLength maximal count of characters of the generated sql
+     * @param deadlineMillis maximal time in milliseconds for interpreting the search
+     * @param queryTimeout query timeout of the prepared statement in seconds
+     */
+    public SearchLimits(int maxInputLength, int maxTokens, int maxPredicates, int maxParameters, int maxSqlLength,
+                        long deadlineMillis, int queryTimeout) {
+        this.maxInputLength = maxInputLength;
+        this.maxTokens = maxTokens;
+        this.maxPredicates = maxPredicates;
+        this.maxParameters = maxParameters;
+        this.maxSqlLength = maxSqlLength;
+        this.deadlineMillis = deadlineMillis;
+        this.queryTimeout = queryTimeout;
+    }
+
+    /**
+     * This method starts the budget for a new search. The deadline starts now.
+     *
+     * @return budget of the search
+     */
+    public SearchBudget start() {
+        return new SearchBudget(this);
+    }
+
+    /**
+     * This method checks the length of the search.
+     *
+     * @param length count of characters of the search
+     * @throws InvalidSearchException thrown if the search is too long
+     */
+    public void checkInputLength(int length) throws InvalidSearchException {
+        SearchError error = validateInputLength(length);
+
+        if (!error.isValid()) {
+            throw new InvalidSearchException(error.getErrorCode(), error.getPosition());
+        }
+    }
+
+    /**
+     * This method does the same as {@link SearchLimits#checkInputLength(int)} but returns the error instead of
+     * throwing it (e.g. for validating a search on every keystroke).
+     *
+     * @param length count of characters of the search
+     * @return the error if the search is too long or {@link SearchError#VALID}
+     */
+    public SearchError validateInputLength(int length) {
+        if (maxInputLength > 0 && length > maxInputLength) {
+            return new SearchError(8, InvalidSearchException.NO_POSITION);
+        }
+
+        return SearchError.VALID;
+    }
+
+    /**
+     * This method checks the count of parameters that are bound.
+     *
+     * @param parameters count of parameters
+     * @throws InvalidSearchException thrown if there are too many parameters
+     */
+    public void checkParameters(int parameters) throws InvalidSearchException {
+        if (maxParameters > 0 && parameters > maxParameters) {
+            throw new InvalidSearchException(16);
+        }
+    }
+
+    /**
+     * This method checks the length of the generated sql.
+     *
+     * @param length count of characters of the sql
+     * @throws InvalidSearchException thrown if the sql is too long
+     */
+    public void checkSqlLength(int length) throws InvalidSearchException {
+        if (maxSqlLength > 0 && length > maxSqlLength) {
+            throw new InvalidSearchException(11);
+        }
+    }
+
+    public int getMaxInputLength() {
+        return maxInputLength;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public int getMaxPredicates() {
+        return maxPredicates;
+    }
+
+    public int getMaxParameters() {
+        return maxParameters;
+    }
+
+    public int getMaxSqlLength() {
+        return maxSqlLength;
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    public int getQueryTimeout() {
+        return queryTimeout;
+    }
+}
@@ -69,4 +69,19 @@ public abstract class Parser {
      * @throws InvalidSearchException thrown if a problem occurred while parsing
      */
     public abstract SubQuery parse(String subQuery) throws InvalidSearchException;
+
+    /**
+     * This method checks if the sub-query can be parsed without creating the {@link SubQuery}. It is used to
+     * validate a search without interpreting it (e.g. while the user types). {@link Parser#isParserFor(String)} has
+     * been called before.
+     * <br><br>
+     * The default implementation just parses the sub-query. A <code>Parser</code> that checks its values (e.g. the
+     * bounds of a range) should override this method and only do the checks.
+     *
+     * @param subQuery split part of the whole search query
+     * @throws InvalidSearchException thrown if the sub-query can't be parsed
+     */
+    public void validate(String subQuery) throws InvalidSearchException {
+        parse(subQuery);
+    }
 }
@@ -0,0 +1,75 @@
+package com.search2sql.query;
+
+import com.search2sql.exception.SearchError;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This is the result of {@link com.search2sql.Search#tryBind(String) Search.tryBind(String)}. It either contains the
+ * {@link BoundQuery} or the {@link SearchError errors} of the search, so invalid searches can be handled without
+ * catching an exception.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class BindResult {
+
+    private final BoundQuery query;
+    private final List<SearchError> errors;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param query translated query or <code>null</code> if the search is invalid
+     * @param errors errors of the search (empty if the search is valid)
+     */
+    public BindResult(BoundQuery query, List<SearchError> errors) {
+        this.query = query;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Returns true if the search is valid.
+     *
+     * @return true if there is a query, false if there are errors
+     */
+    public boolean isSuccess() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Returns the translated query.
+     *
+     * @return translated query or <code>null</code> if the search is invalid
+     */
+    public BoundQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the first error of the search.
+     *
+     * @return first error or <code>null</code> if the search is valid
+     */
+    public SearchError getError() {
+        return errors.isEmpty() ? null : errors.get(0);
+    }
+
+    /**
+     * Returns all errors of the search. There is more than one only if the interpreter collects the errors.
+     *
+     * @return unmodifiable list of the errors in the order they occurred
+     */
+    public List<SearchError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return "BindResult{" +
+                "query=" + query +
+                ", errors=" + errors +
+                '}';
+    }
+}
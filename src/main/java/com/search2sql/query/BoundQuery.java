@@ -0,0 +1,108 @@
+package com.search2sql.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This is a translated {@link Query} together with the parameters in the order they are bound. It doesn't need a
+ * {@link java.sql.Connection} and can be cached, compared or stored (e.g. for saved searches).
+ * <br><br>
+ * The parameters are flat: ranges and lists were split into one parameter per element like they are bound by
+ * {@link com.search2sql.Search Search}. A {@link SqlArray} stays one parameter.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class BoundQuery {
+
+    private final String sql;
+    private final List<Object> parameters;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param sql translated sql (without prefix and suffix)
+     * @param parameters flat parameters in the order they are bound
+     */
+    public BoundQuery(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+    }
+
+    /**
+     * This method collects the flat parameters of a query in the order they are bound.
+     *
+     * @param query interpreted query
+     * @return flat parameters
+     */
+    public static List<Object> parametersOf(Query query) {
+        List<Object> parameters = new ArrayList<>();
+
+        for (SubQuery subQuery : query.getSubQueries()) {
+            // special sub-queries don't have parameters
+            if (subQuery.getParserId() != null) {
+                flatten(subQuery.getValue(), parameters);
+            }
+        }
+
+        return parameters;
+    }
+
+    private static void flatten(Object value, List<Object> parameters) {
+        if (value instanceof int[]) {
+            // a range has one parameter per element
+            for (int element : (int[]) value) {
+                parameters.add(element);
+            }
+        } else if (value instanceof Collection) {
+            // a list has one parameter per element
+            for (Object element : (Collection<?>) value) {
+                flatten(element, parameters);
+            }
+        } else {
+            parameters.add(value);
+        }
+    }
+
+    /**
+     * Returns the translated sql.
+     *
+     * @return translated sql
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the unmodifiable list of parameters.
+     *
+     * @return flat parameters in the order they are bound
+     */
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BoundQuery that = (BoundQuery) o;
+        return sql.equals(that.sql) && parameters.equals(that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sql, parameters);
+    }
+
+    @Override
+    public String toString() {
+        return "BoundQuery{" +
+                "sql='" + sql + '\'' +
+                ", parameters=" + parameters +
+                '}';
+    }
+}
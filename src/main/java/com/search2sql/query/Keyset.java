@@ -0,0 +1,190 @@
+package com.search2sql.query;
+
+import com.search2sql.exception.IllegalUseException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This defines a page of a keyset (seek) pagination. Instead of skipping rows with <code>OFFSET</code>, the next page
+ * starts after the sort key of the last row of the previous page, so every page is as fast as the first one when an
+ * index covers the sort columns.
+ * <br><br>
+ * The keyset consists of the sort columns and the values of the last row (none for the first page). It generates the
+ * seek predicate that is appended to the search (see
+ * {@link com.search2sql.Search#prepareStatement(String, java.sql.Connection, String, String, int, Keyset)
+ * Search.prepareStatement(...)}) and the matching <code>ORDER BY</code> clause for the suffix. The predicate either
+ * compares row values (<code>(a, b) &gt; (?, ?)</code>) or uses the expanded form
+ * (<code>a &gt; ? OR (a = ? AND b &gt; ?)</code>) for databases without row value comparisons. Row values are only
+ * used if all columns are sorted in the same direction.
+ * <br><br>
+ * The sort key must be unique (e.g. end with the primary key) and its columns must not be <code>NULL</code>,
+ * otherwise rows may be skipped or repeated between pages.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class Keyset {
+
+    private final List<SortColumn> columns;
+    private final List<Object> lastValues;
+    private final boolean rowValues;
+
+    /**
+     * This constructor initializes the keyset of the first page.
+     *
+     * @param columns sort columns
+     * @param rowValues true if the database supports row value comparisons
+     */
+    public Keyset(List<SortColumn> columns, boolean rowValues) {
+        this(columns, Collections.emptyList(), rowValues);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param columns sort columns
+     * @param lastValues values of the sort columns of the last row of the previous page (empty for the first page)
+     * @param rowValues true if the database supports row value comparisons
+     * @throws IllegalUseException thrown if there are no columns or the count of values doesn't match
+     */
+    public Keyset(List<SortColumn> columns, List<Object> lastValues, boolean rowValues) throws IllegalUseException {
+        if (columns.isEmpty()) {
+            throw new IllegalUseException("A keyset needs at least one sort column.");
+        } else if (!lastValues.isEmpty() && lastValues.size() != columns.size()) {
+            throw new IllegalUseException(String.format("The keyset has %d sort columns but %d values.",
+                    columns.size(), lastValues.size()));
+        }
+
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        this.lastValues = Collections.unmodifiableList(new ArrayList<>(lastValues));
+        this.rowValues = rowValues;
+    }
+
+    /**
+     * This method returns the keyset of the page after the row with the given values.
+     *
+     * @param lastValues values of the sort columns of the last row of the current page
+     * @return keyset of the next page
+     */
+    public Keyset next(List<Object> lastValues) {
+        return new Keyset(columns, lastValues, rowValues);
+    }
+
+    /**
+     * Checks if this is the first page, which has no seek predicate.
+     *
+     * @return true if there are no values of a previous page
+     */
+    public boolean isFirstPage() {
+        return lastValues.isEmpty();
+    }
+
+    /**
+     * This method generates the seek predicate. It is empty for the first page.
+     *
+     * @return seek predicate with a placeholder for every parameter
+     */
+    public String toSql() {
+        if (isFirstPage()) {
+            return "";
+        }
+
+        if (rowValues && isUniform()) {
+            StringBuilder names = new StringBuilder();
+            StringBuilder placeholders = new StringBuilder();
+
+            for (int i = 0; i < columns.size(); i++) {
+                names.append(i == 0 ? "" : ", ").append(columns.get(i).getName());
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+
+            return "( " + names + " ) " + operator(columns.get(0)) + " ( " + placeholders + " )";
+        }
+
+        StringBuilder sql = new StringBuilder("( ");
+
+        // the row is after the last one if all previous columns are equal and this one is after it
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? "( " : " OR ( ");
+
+            for (int j = 0; j < i; j++) {
+                sql.append(columns.get(j).getName()).append(" = ? AND ");
+            }
+
+            sql.append(columns.get(i).getName()).append(' ').append(operator(columns.get(i))).append(" ? )");
+        }
+
+        return sql.append(" )").toString();
+    }
+
+    /**
+     * This method returns the parameters of the seek predicate in the order of its placeholders.
+     *
+     * @return parameters of the seek predicate
+     */
+    public List<Object> getParameters() {
+        if (isFirstPage() || (rowValues && isUniform())) {
+            return lastValues;
+        }
+
+        List<Object> parameters = new ArrayList<>();
+
+        for (int i = 0; i < columns.size(); i++) {
+            parameters.addAll(lastValues.subList(0, i + 1));
+        }
+
+        return parameters;
+    }
+
+    /**
+     * This method generates the <code>ORDER BY</code> clause of the sort columns.
+     *
+     * @return order by clause
+     */
+    public String orderBy() {
+        StringBuilder sql = new StringBuilder("ORDER BY ");
+
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(columns.get(i));
+        }
+
+        return sql.toString();
+    }
+
+    private boolean isUniform() {
+        for (SortColumn column : columns) {
+            if (column.isDescending() != columns.get(0).isDescending()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String operator(SortColumn column) {
+        return column.isDescending() ? "<" : ">";
+    }
+
+    public List<SortColumn> getColumns() {
+        return columns;
+    }
+
+    public List<Object> getLastValues() {
+        return lastValues;
+    }
+
+    public boolean isRowValues() {
+        return rowValues;
+    }
+
+    @Override
+    public String toString() {
+        return "Keyset{" +
+                "columns=" + columns +
+                ", lastValues=" + lastValues +
+                ", rowValues=" + rowValues +
+                '}';
+    }
+}
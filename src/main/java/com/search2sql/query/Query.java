@@ -38,6 +38,24 @@ public class Query {
      */
     private List<SubQuery> subQueries;
 
+    /**
+     * This is the <i>count of search terms that were dropped</i> while interpreting (e.g. stopwords).<br>
+     * The caller may show it to the user, so he knows that parts of his search were ignored.
+     */
+    private int droppedTerms;
+
+    /**
+     * This is the <i>estimated cost</i> of the query (see {@link com.search2sql.cost.CostEstimator CostEstimator}).<br>
+     * It is <code>0</code> if no estimator is used.
+     */
+    private double cost;
+
+    /**
+     * This is the <i>name of the executor</i> the query should be executed on.<br>
+     * It is set by a {@link com.search2sql.cost.CostPolicy CostPolicy} and <code>null</code> for the default executor.
+     */
+    private String route;
+
     /**
      * Basic constructor that does nothing beside initializing an empty list.
      */
@@ -124,12 +142,69 @@ public class Query {
         this.subQueries = subQueries;
     }
 
+    /**
+     * Gets dropped terms.
+     *
+     * @return the dropped terms
+     */
+    public int getDroppedTerms() {
+        return droppedTerms;
+    }
+
+    /**
+     * Sets dropped terms.
+     *
+     * @param droppedTerms the dropped terms
+     */
+    public void setDroppedTerms(int droppedTerms) {
+        this.droppedTerms = droppedTerms;
+    }
+
+    /**
+     * Gets cost.
+     *
+     * @return the cost
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Sets cost.
+     *
+     * @param cost the cost
+     */
+    public void setCost(double cost) {
+        this.cost = cost;
+    }
+
+    /**
+     * Gets route.
+     *
+     * @return the route
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Sets route.
+     *
+     * @param route the route
+     */
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
     @Override
     public String toString() {
         return "Query{" +
                 "original='" + original + '\'' +
                 ", tableConfig=" + tableConfig +
                 ", subQueries=" + subQueries +
+                ", droppedTerms=" + droppedTerms +
+                ", cost=" + cost +
+                ", route='" + route + '\'' +
                 '}';
     }
 }
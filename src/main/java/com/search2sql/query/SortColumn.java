@@ -0,0 +1,69 @@
+package com.search2sql.query;
+
+import com.search2sql.exception.IllegalUseException;
+
+import java.util.regex.Pattern;
+
+/**
+ * This is a column of the sort order of a {@link Keyset}. The name is written into the sql as it is, so it may only
+ * consist of letters, digits, underscores and dots (e.g. <code>p.created_at</code>).
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class SortColumn {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
+
+    private final String name;
+    private final boolean descending;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param name name of the column in the sql
+     * @param descending true if the column is sorted descending
+     * @throws IllegalUseException thrown if the name isn't a plain identifier
+     */
+    public SortColumn(String name, boolean descending) throws IllegalUseException {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalUseException(String.format("The sort column '%s' is not a valid identifier.", name));
+        }
+
+        this.name = name;
+        this.descending = descending;
+    }
+
+    /**
+     * This method creates a column that is sorted ascending.
+     *
+     * @param name name of the column in the sql
+     * @return ascending sort column
+     */
+    public static SortColumn asc(String name) {
+        return new SortColumn(name, false);
+    }
+
+    /**
+     * This method creates a column that is sorted descending.
+     *
+     * @param name name of the column in the sql
+     * @return descending sort column
+     */
+    public static SortColumn desc(String name) {
+        return new SortColumn(name, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    @Override
+    public String toString() {
+        return name + (descending ? " DESC" : " ASC");
+    }
+}
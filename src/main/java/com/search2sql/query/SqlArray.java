@@ -0,0 +1,56 @@
+package com.search2sql.query;
+
+import java.util.Arrays;
+
+/**
+ * This is a value of a {@link SubQuery} that is bound as one single sql array parameter instead of one parameter per
+ * element.
+ * <br><br>
+ * The array is created with {@link java.sql.Connection#createArrayOf(String, Object[])} when the statement is prepared,
+ * so the element type name must be one the JDBC driver understands (e.g. <code>integer</code> on PostgreSQL).
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class SqlArray {
+
+    private final String typeName;
+    private final Object[] elements;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param typeName sql name of the element type
+     * @param elements elements of the array
+     */
+    public SqlArray(String typeName, Object[] elements) {
+        this.typeName = typeName;
+        this.elements = elements;
+    }
+
+    /**
+     * Returns the sql name of the element type.
+     *
+     * @return sql name of the element type
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Returns the elements of the array.
+     *
+     * @return elements of the array
+     */
+    public Object[] getElements() {
+        return elements;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlArray{" +
+                "typeName='" + typeName + '\'' +
+                ", elements=" + Arrays.toString(elements) +
+                '}';
+    }
+}
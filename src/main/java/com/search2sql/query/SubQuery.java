@@ -44,6 +44,13 @@ public class SubQuery {
      */
     private Object value;
 
+    /**
+     * This string contains the plain search term the value was generated from, before it was shaped for the
+     * translation (e.g. without the wildcards of a <code>LIKE</code> pattern). It is optional and may be
+     * <code>null</code>.
+     */
+    private String term;
+
     /**
      * This is a basic constructor that does nothing.
      */
@@ -82,6 +89,17 @@ public class SubQuery {
         this.value = value;
     }
 
+    /**
+     * This constructor copies all values of the given sub-query. The value itself isn't copied.
+     *
+     * @param subQuery sub-query to copy
+     */
+    public SubQuery(SubQuery subQuery) {
+        this(subQuery.parserId, subQuery.columnName, subQuery.type, subQuery.value);
+
+        this.term = subQuery.term;
+    }
+
     /**
      * Gets parser id.
      *
@@ -154,6 +172,24 @@ public class SubQuery {
         this.value = value;
     }
 
+    /**
+     * Gets term.
+     *
+     * @return the term
+     */
+    public String getTerm() {
+        return term;
+    }
+
+    /**
+     * Sets term.
+     *
+     * @param term the term
+     */
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
     @Override
     public String toString() {
         return "SubQuery{" +
@@ -161,6 +197,7 @@ public class SubQuery {
                 ", columnName='" + columnName + '\'' +
                 ", type='" + type + '\'' +
                 ", value=" + value +
+                ", term='" + term + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,244 @@
+package com.search2sql.query.expression;
+
+import com.search2sql.query.Query;
+import com.search2sql.query.SqlArray;
+import com.search2sql.query.SubQuery;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This is an utility class that brings semantically identical {@link Query Queries} into the same canonical form and
+ * computes a stable 64-bit fingerprint of that form (e.g. for caching results).
+ * <br><br>
+ * The canonical form is built on the {@link Expression} tree:
+ * <ul>
+ *     <li>nested junctions of the same connector are flattened (<code>a or (b or c)</code> is <code>a or b or c</code>)</li>
+ *     <li>the operands of <code>AND</code> and <code>OR</code> are sorted, because both are commutative</li>
+ *     <li>duplicated operands are removed (<code>a or a</code> is <code>a</code>)</li>
+ *     <li>double negations are removed</li>
+ *     <li>parser ids and types (the keywords) are compared in lower case</li>
+ * </ul>
+ * The values are compared with their type (<code>1</code> isn't <code>"1"</code>) and case-sensitive, because the
+ * case sensitivity depends on the collation of the database. {@link Fragment Fragments} are kept in their order.
+ * <br><br>
+ * The whitespace of the search doesn't matter because it never reaches the sub-queries.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class Canonicalizer {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * This method normalizes the query. The returned query has the same meaning but may be translated into
+     * different sql (the operands are in another order).
+     *
+     * @param query interpreted query
+     * @return new query with the canonical sub-queries
+     */
+    public static Query canonicalize(Query query) {
+        Canonical canonical = canonicalize(ExpressionConverter.toExpression(query.getSubQueries()));
+        Query result = new Query(query.getOriginal(), query.getTableConfig(),
+                ExpressionConverter.toSubQueries(canonical == null ? null : canonical.expression));
+
+        result.setDroppedTerms(query.getDroppedTerms());
+        result.setCost(query.getCost());
+        result.setRoute(query.getRoute());
+
+        return result;
+    }
+
+    /**
+     * This method returns the canonical form of the query as string. Two queries with the same canonical form have
+     * the same meaning.
+     *
+     * @param query interpreted query
+     * @return canonical form of the query
+     */
+    public static String canonicalForm(Query query) {
+        Canonical canonical = canonicalize(ExpressionConverter.toExpression(query.getSubQueries()));
+
+        return canonical == null ? "" : canonical.form;
+    }
+
+    /**
+     * This method computes the fingerprint of the query. The fingerprint is stable across runs and JVMs because it
+     * is computed from the canonical form (64-bit FNV-1a of its UTF-8 bytes with a final bit mix).
+     *
+     * @param query interpreted query
+     * @return 64-bit fingerprint of the canonical form
+     */
+    public static long fingerprint(Query query) {
+        return fingerprint(canonicalForm(query));
+    }
+
+    /**
+     * This method computes the fingerprint of a canonical form (see {@link Canonicalizer#canonicalForm(Query)}).
+     *
+     * @param canonicalForm canonical form of a query
+     * @return 64-bit fingerprint
+     */
+    public static long fingerprint(String canonicalForm) {
+        long hash = FNV_OFFSET;
+
+        for (byte b : canonicalForm.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+
+        // FNV-1a mixes the last bytes badly, so the bits are mixed once more
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    private static Canonical canonicalize(Expression expression) {
+        if (expression == null) {
+            return null;
+        } else if (expression instanceof Predicate) {
+            return new Canonical(expression, "p" + key(((Predicate) expression).getSubQuery()));
+        } else if (expression instanceof Fragment) {
+            StringBuilder form = new StringBuilder("f[");
+
+            for (SubQuery subQuery : ((Fragment) expression).getSubQueries()) {
+                form.append(key(subQuery));
+            }
+
+            return new Canonical(expression, form.append(']').toString());
+        } else if (expression instanceof Negation) {
+            Canonical operand = canonicalize(((Negation) expression).getOperand());
+
+            // not not a is a
+            if (operand.expression instanceof Negation) {
+                return canonicalize(((Negation) operand.expression).getOperand());
+            }
+
+            return new Canonical(new Negation(operand.expression), "n(" + operand.form + ")");
+        }
+
+        Junction junction = (Junction) expression;
+        String type = junction.isOr() ? Junction.OR : Junction.AND;
+        // sorted by the canonical form, which also removes the duplicates
+        Map<String, Canonical> operands = new TreeMap<>();
+
+        for (Expression operand : junction.getOperands()) {
+            Canonical canonical = canonicalize(operand);
+
+            if (canonical.operands != null && type.equals(((Junction) canonical.expression).getType())) {
+                // the operands of the nested junction are already canonical
+                for (Canonical nested : canonical.operands) {
+                    operands.put(nested.form, nested);
+                }
+            } else {
+                operands.put(canonical.form, canonical);
+            }
+        }
+
+        if (operands.size() == 1) {
+            return operands.values().iterator().next();
+        }
+
+        List<Expression> expressions = new ArrayList<>();
+
+        for (Canonical operand : operands.values()) {
+            expressions.add(operand.expression);
+        }
+
+        String form = (junction.isOr() ? "or(" : "and(") + String.join(",", operands.keySet()) + ")";
+
+        return new Canonical(new Junction(type, expressions), form, new ArrayList<>(operands.values()));
+    }
+
+    private static String key(SubQuery subQuery) {
+        StringBuilder key = new StringBuilder("(");
+
+        append(key, lower(subQuery.getParserId()));
+        append(key, subQuery.getColumnName());
+        append(key, lower(subQuery.getType()));
+        append(key, value(subQuery.getValue()));
+
+        return key.append(')').toString();
+    }
+
+    private static String value(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof SqlArray) {
+            SqlArray array = (SqlArray) value;
+            StringBuilder key = new StringBuilder("array ");
+
+            append(key, array.getTypeName());
+
+            for (Object element : array.getElements()) {
+                append(key, value(element));
+            }
+
+            return key.toString();
+        } else if (value instanceof int[]) {
+            // a range; arrays have no stable string, so every element is appended
+            StringBuilder key = new StringBuilder("int[] ");
+
+            for (int element : (int[]) value) {
+                append(key, String.valueOf(element));
+            }
+
+            return key.toString();
+        } else if (value instanceof Object[] || value instanceof Collection) {
+            // e.g. an IN list; the order of the elements is kept because it is the order of the parameters
+            Iterable<?> elements = value instanceof Object[] ? Arrays.asList((Object[]) value) : (Collection<?>) value;
+            StringBuilder key = new StringBuilder(value instanceof Object[] ? "array " : "list ");
+
+            for (Object element : elements) {
+                append(key, value(element));
+            }
+
+            return key.toString();
+        }
+
+        // the type is part of the value
+        return value.getClass().getName() + ":" + value;
+    }
+
+    private static void append(StringBuilder key, String part) {
+        // every part is prefixed with its length, so no content can be mistaken for a separator
+        if (part == null) {
+            key.append("-;");
+        } else {
+            key.append(part.length()).append(':').append(part).append(';');
+        }
+    }
+
+    private static String lower(String keyword) {
+        return keyword == null ? null : keyword.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Canonical {
+
+        private final Expression expression;
+        private final String form;
+        // the canonical operands if the expression is a junction
+        private final List<Canonical> operands;
+
+        private Canonical(Expression expression, String form) {
+            this(expression, form, null);
+        }
+
+        private Canonical(Expression expression, String form, List<Canonical> operands) {
+            this.expression = expression;
+            this.form = form;
+            this.operands = operands;
+        }
+    }
+}
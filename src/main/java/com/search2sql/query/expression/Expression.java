@@ -0,0 +1,23 @@
+package com.search2sql.query.expression;
+
+/**
+ * This is the base class of the expression tree that represents the logical structure of a
+ * {@link com.search2sql.query.Query Query}.
+ * <br><br>
+ * The {@link com.search2sql.interpreter.Interpreter Interpreter} produces a flat list of
+ * {@link com.search2sql.query.SubQuery SubQueries} where logical connectors and brackets are sub-queries themselves.
+ * This list is good for translating but bad for analysing or rewriting the search because the precedence of
+ * <code>AND</code>, <code>OR</code> and <code>NOT</code> is only implied. The expression tree makes that structure
+ * explicit. It can be built and lowered back to the flat form with the {@link ExpressionConverter}.
+ * <br><br>
+ * <b>Known Implementations</b><br>
+ * {@link Predicate}<br>
+ * {@link Fragment}<br>
+ * {@link Junction}<br>
+ * {@link Negation}
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public abstract class Expression {
+}
@@ -0,0 +1,206 @@
+package com.search2sql.query.expression;
+
+import com.search2sql.exception.IllegalUseException;
+import com.search2sql.query.SubQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * This is an utility class that converts the flat list of {@link SubQuery SubQueries} into an {@link Expression} tree
+ * and back.
+ * <br><br>
+ * The flat list is read with the same precedence the database will use for the translated sql: <code>NOT</code> binds
+ * stronger than <code>AND</code> and <code>AND</code> binds stronger than <code>OR</code>. Brackets
+ * (<code>sql.bracket.open</code> and <code>sql.bracket.close</code>) group explicitly. Other special sub-queries
+ * whose type ends with <code>.open</code> start a {@link Fragment} that lasts until the matching <code>.close</code>.
+ * Every other sub-query is a {@link Predicate}.
+ * <br><br>
+ * When lowering a tree back into the flat form, brackets are only added where they are needed to keep the meaning.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class ExpressionConverter {
+
+    /**
+     * This is the type of the sub-query that opens a bracket.
+     */
+    public static final String BRACKET_OPEN = "sql.bracket.open";
+
+    /**
+     * This is the type of the sub-query that closes a bracket.
+     */
+    public static final String BRACKET_CLOSE = "sql.bracket.close";
+
+    /**
+     * This method builds the expression tree for the given flat list of sub-queries.
+     *
+     * @param subQueries flat list generated by an interpreter
+     * @return root of the expression tree or <code>null</code> if the list is empty
+     * @throws IllegalUseException thrown if the list isn't well-formed (e.g. unbalanced brackets)
+     */
+    public static Expression toExpression(List<SubQuery> subQueries) throws IllegalUseException {
+        // nothing to convert
+        if (subQueries.isEmpty()) {
+            return null;
+        }
+
+        // use random access because the list is read by index
+        List<SubQuery> list = new ArrayList<>(subQueries);
+        int[] position = {0};
+
+        Expression expression = parseOr(list, position);
+
+        // everything must have been consumed
+        if (position[0] < list.size()) {
+            throw new IllegalUseException(String.format("Unexpected sub-query %s at position %d.", list.get(position[0]), position[0]));
+        }
+
+        return expression;
+    }
+
+    /**
+     * This method lowers the expression tree back into the flat list of sub-queries that can be translated by any
+     * {@link com.search2sql.translator.Translator Translator}.
+     *
+     * @param expression root of the expression tree (may be <code>null</code>)
+     * @return flat list of sub-queries
+     */
+    public static LinkedList<SubQuery> toSubQueries(Expression expression) {
+        LinkedList<SubQuery> result = new LinkedList<>();
+
+        if (expression != null) {
+            lower(expression, result);
+        }
+
+        return result;
+    }
+
+    private static Expression parseOr(List<SubQuery> list, int[] position) {
+        List<Expression> operands = new ArrayList<>();
+
+        operands.add(parseAnd(list, position));
+
+        while (position[0] < list.size() && is(list.get(position[0]), Junction.OR)) {
+            position[0]++;
+
+            operands.add(parseAnd(list, position));
+        }
+
+        return operands.size() == 1 ? operands.get(0) : new Junction(Junction.OR, operands);
+    }
+
+    private static Expression parseAnd(List<SubQuery> list, int[] position) {
+        List<Expression> operands = new ArrayList<>();
+
+        operands.add(parseUnary(list, position));
+
+        while (position[0] < list.size() && is(list.get(position[0]), Junction.AND)) {
+            position[0]++;
+
+            operands.add(parseUnary(list, position));
+        }
+
+        return operands.size() == 1 ? operands.get(0) : new Junction(Junction.AND, operands);
+    }
+
+    private static Expression parseUnary(List<SubQuery> list, int[] position) {
+        if (position[0] >= list.size()) {
+            throw new IllegalUseException("The sub-queries end with a logical connector or operator.");
+        }
+
+        SubQuery current = list.get(position[0]++);
+
+        if (is(current, Negation.NOT)) {
+            return new Negation(parseUnary(list, position));
+        } else if (is(current, BRACKET_OPEN)) {
+            Expression inner = parseOr(list, position);
+
+            if (position[0] >= list.size() || !is(list.get(position[0]), BRACKET_CLOSE)) {
+                throw new IllegalUseException("A bracket was opened in the sub-queries but it wasn't closed.");
+            }
+
+            position[0]++;
+
+            return inner;
+        } else if (is(current, BRACKET_CLOSE) || is(current, Junction.AND) || is(current, Junction.OR)) {
+            throw new IllegalUseException(String.format("Unexpected sub-query %s at position %d.", current, position[0] - 1));
+        } else if (current.getParserId() == null && current.getType() != null && current.getType().endsWith(".open")) {
+            // a fragment (e.g. a sub-select) that was generated by a rewriter and is kept as it is
+            return parseFragment(current, list, position);
+        }
+
+        return new Predicate(current);
+    }
+
+    private static Expression parseFragment(SubQuery open, List<SubQuery> list, int[] position) {
+        String name = open.getType().substring(0, open.getType().length() - ".open".length());
+        List<SubQuery> subQueries = new ArrayList<>();
+        int depth = 1;
+
+        subQueries.add(open);
+
+        while (position[0] < list.size()) {
+            SubQuery current = list.get(position[0]++);
+
+            subQueries.add(current);
+
+            if (is(current, name + ".open")) {
+                depth++;
+            } else if (is(current, name + ".close") && --depth == 0) {
+                return new Fragment(subQueries);
+            }
+        }
+
+        throw new IllegalUseException(String.format("The fragment '%s' was opened in the sub-queries but it wasn't closed.", name));
+    }
+
+    private static boolean is(SubQuery subQuery, String type) {
+        // special sub-queries added by the interpreter never have a parser id
+        return subQuery.getParserId() == null && type.equalsIgnoreCase(subQuery.getType());
+    }
+
+    private static void lower(Expression expression, LinkedList<SubQuery> result) {
+        if (expression instanceof Predicate) {
+            result.add(((Predicate) expression).getSubQuery());
+        } else if (expression instanceof Fragment) {
+            result.addAll(((Fragment) expression).getSubQueries());
+        } else if (expression instanceof Negation) {
+            Expression operand = ((Negation) expression).getOperand();
+
+            result.add(new SubQuery(null, null, Negation.NOT, null));
+
+            // a negated junction must be enclosed or only the first operand would be negated
+            lowerEnclosed(operand, operand instanceof Junction, result);
+        } else if (expression instanceof Junction) {
+            Junction junction = (Junction) expression;
+
+            for (int i = 0; i < junction.getOperands().size(); i++) {
+                Expression operand = junction.getOperands().get(i);
+
+                if (i > 0) {
+                    result.add(new SubQuery(null, null, junction.getType(), null));
+                }
+
+                // an OR inside of an AND must be enclosed, the other way round isn't necessary
+                lowerEnclosed(operand, operand instanceof Junction && ((Junction) operand).isOr() && !junction.isOr(), result);
+            }
+        } else {
+            throw new IllegalUseException(String.format("The expression '%s' is not supported.", expression.getClass().getName()));
+        }
+    }
+
+    private static void lowerEnclosed(Expression expression, boolean enclose, LinkedList<SubQuery> result) {
+        if (enclose) {
+            result.add(new SubQuery(null, null, BRACKET_OPEN, null));
+        }
+
+        lower(expression, result);
+
+        if (enclose) {
+            result.add(new SubQuery(null, null, BRACKET_CLOSE, null));
+        }
+    }
+}
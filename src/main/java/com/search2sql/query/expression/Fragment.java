@@ -0,0 +1,46 @@
+package com.search2sql.query.expression;
+
+import com.search2sql.query.SubQuery;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This is a leaf of the expression tree that consists of several {@link SubQuery SubQueries} which are kept in their
+ * order and translated as they are. It is used by {@link com.search2sql.rewriter.Rewriter Rewriters} that replace a
+ * part of the tree with sql that has its own structure (e.g. a sub-select).
+ * <br><br>
+ * The fragment must be a complete condition, so it can be connected like every {@link Predicate}.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class Fragment extends Expression {
+
+    private final List<SubQuery> subQueries;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param subQueries sub-queries of the fragment in their order
+     */
+    public Fragment(List<SubQuery> subQueries) {
+        this.subQueries = Collections.unmodifiableList(subQueries);
+    }
+
+    /**
+     * Returns the unmodifiable list of the sub-queries of the fragment.
+     *
+     * @return sub-queries of the fragment
+     */
+    public List<SubQuery> getSubQueries() {
+        return subQueries;
+    }
+
+    @Override
+    public String toString() {
+        return "Fragment{" +
+                "subQueries=" + subQueries +
+                '}';
+    }
+}
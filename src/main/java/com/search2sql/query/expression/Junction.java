@@ -0,0 +1,75 @@
+package com.search2sql.query.expression;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This is a node of the expression tree that connects two or more operands with the same logical connector.
+ * <br><br>
+ * The type is the same type the connecting {@link com.search2sql.query.SubQuery SubQuery} has in the flat form, so it
+ * is either {@link Junction#AND} or {@link Junction#OR}.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class Junction extends Expression {
+
+    /**
+     * This is the type of the logical connector <code>AND</code>.
+     */
+    public static final String AND = "logic.connector.and";
+
+    /**
+     * This is the type of the logical connector <code>OR</code>.
+     */
+    public static final String OR = "logic.connector.or";
+
+    private final String type;
+    private final List<Expression> operands;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param type type of the connector ({@link Junction#AND} or {@link Junction#OR})
+     * @param operands connected operands
+     */
+    public Junction(String type, List<Expression> operands) {
+        this.type = type;
+        this.operands = Collections.unmodifiableList(operands);
+    }
+
+    /**
+     * Returns the type of the logical connector.
+     *
+     * @return type of the connector
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the unmodifiable list of the connected operands.
+     *
+     * @return connected operands
+     */
+    public List<Expression> getOperands() {
+        return operands;
+    }
+
+    /**
+     * Checks if this junction is connected by <code>OR</code>.
+     *
+     * @return true if the connector is <code>OR</code>
+     */
+    public boolean isOr() {
+        return OR.equalsIgnoreCase(type);
+    }
+
+    @Override
+    public String toString() {
+        return "Junction{" +
+                "type='" + type + '\'' +
+                ", operands=" + operands +
+                '}';
+    }
+}
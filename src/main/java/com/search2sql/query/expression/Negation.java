@@ -0,0 +1,42 @@
+package com.search2sql.query.expression;
+
+/**
+ * This is a node of the expression tree that negates its operand with a logical <code>NOT</code>.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class Negation extends Expression {
+
+    /**
+     * This is the type of the logical operator <code>NOT</code>.
+     */
+    public static final String NOT = "logic.operator.not";
+
+    private final Expression operand;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param operand negated operand
+     */
+    public Negation(Expression operand) {
+        this.operand = operand;
+    }
+
+    /**
+     * Returns the negated operand.
+     *
+     * @return negated operand
+     */
+    public Expression getOperand() {
+        return operand;
+    }
+
+    @Override
+    public String toString() {
+        return "Negation{" +
+                "operand=" + operand +
+                '}';
+    }
+}
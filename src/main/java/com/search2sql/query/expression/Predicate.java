@@ -0,0 +1,40 @@
+package com.search2sql.query.expression;
+
+import com.search2sql.query.SubQuery;
+
+/**
+ * This is a leaf of the expression tree. It wraps exactly one {@link SubQuery} that was generated by a
+ * {@link com.search2sql.parser.Parser Parser} (e.g. <code>column = ?</code>).
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class Predicate extends Expression {
+
+    private final SubQuery subQuery;
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param subQuery wrapped sub-query
+     */
+    public Predicate(SubQuery subQuery) {
+        this.subQuery = subQuery;
+    }
+
+    /**
+     * Returns the wrapped sub-query.
+     *
+     * @return wrapped sub-query
+     */
+    public SubQuery getSubQuery() {
+        return subQuery;
+    }
+
+    @Override
+    public String toString() {
+        return "Predicate{" +
+                "subQuery=" + subQuery +
+                '}';
+    }
+}
@@ -0,0 +1,36 @@
+package com.search2sql.rewriter;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.query.Query;
+
+/**
+ * The <code>Rewriter</code> is an optional step between the <code>Interpreting</code> and the <code>Translating</code>
+ * phase.
+ * <br><br>
+ * A rewriter takes the interpreted {@link Query} and transforms it into an equivalent one that is cheaper for the
+ * database to execute or that produces fewer distinct sql statements. Rewriters are registered with
+ * {@link com.search2sql.SearchBuilder#addRewriter(Rewriter)} and applied in the order they were added.
+ * <br><br>
+ * The {@link com.search2sql.query.expression.ExpressionConverter ExpressionConverter} may help when implementing a
+ * rewriter because it makes the logical structure of the query explicit.
+ * <br><br>
+ * <b>Known Implementations</b><br>
+ * {@link com.search2sql.impl.rewriter.InListRewriter com.search2sql.impl.rewriter.InListRewriter}<br>
+ * {@link com.search2sql.impl.rewriter.UnionRewriter com.search2sql.impl.rewriter.UnionRewriter}<br>
+ * {@link com.search2sql.impl.rewriter.WildcardRewriter com.search2sql.impl.rewriter.WildcardRewriter}
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public abstract class Rewriter {
+
+    /**
+     * This method rewrites the given query. The result must have the same meaning as the given query. It may be the
+     * same (modified) object or a new one.
+     *
+     * @param query interpreted query
+     * @return rewritten query
+     * @throws InvalidSearchException thrown if the rewriter refuses the query (e.g. because it's too expensive)
+     */
+    public abstract Query rewrite(Query query) throws InvalidSearchException;
+}
@@ -1,5 +1,7 @@
 package com.search2sql.table;
 
+import java.sql.JDBCType;
+
 /**
  * This class represents the value of a SQL column. This is the smallest structural unit and a set of these columns is
  * collected in a {@link Table}.
@@ -8,7 +10,16 @@ package com.search2sql.table;
  * column has the id of the parser that will be used for parsing.<br>
  * As a new feature <i>weight</i> is added. This integer defines how important this column is in the table. This can be used
  * for marking columns less relevant than others. How this behaves exactly is based on which implementation of the
- * {@link com.search2sql.interpreter.Interpreter Interpreter} you're using (it can also be ignored).
+ * {@link com.search2sql.interpreter.Interpreter Interpreter} you're using (it can also be ignored).<br>
+ * A column can also be marked as <i>indexed</i>. This tells {@link com.search2sql.rewriter.Rewriter Rewriters} that a
+ * predicate on this column can be served by an index (e.g. the {@link com.search2sql.impl.rewriter.UnionRewriter}).
+ * <br><br>
+ * Optionally, the sql type of the column and a {@link MatchPolicy} can be specified. The match policy defines if the
+ * column is only searched when no other column could parse the value. This prevents expensive predicates on
+ * unselective columns (e.g. <code>LIKE</code> on unindexed text columns) for values that were already claimed by a
+ * more specific parser. If no match policy is given, it is derived from the metadata: an unindexed column of a
+ * character type (e.g. <code>VARCHAR</code>) is a {@link MatchPolicy#FALLBACK} column, all other columns are searched
+ * {@link MatchPolicy#ALWAYS always}.
  *
  * @author fuggerjaki61
  * @since 2.0-zulu
@@ -18,6 +29,9 @@ public class Column {
     private final String name;
     private final String parserId;
     private final int weight;
+    private final boolean indexed;
+    private final JDBCType sqlType;
+    private final MatchPolicy matchPolicy;
 
     /**
      * This is a basic constructor initializing values. No logic is performed.
@@ -40,9 +54,110 @@ public class Column {
      * @param weight importance of this column
      */
     public Column(String name, String parserId, int weight) {
+        this(name, parserId, weight, false);
+    }
+
+    /**
+     * This is a basic constructor initializing values. No logic is performed.
+     * <br><br>
+     * <b>Note</b><br>
+     * This constructor uses the default value <code>0</code> for the column weight.
+     *
+     * @param name name of the column
+     * @param parserId id of the parser used
+     * @param indexed true if the column is indexed
+     */
+    public Column(String name, String parserId, boolean indexed) {
+        this(name, parserId, 0, indexed);
+    }
+
+    /**
+     * This is a basic constructor initializing values. No logic is performed.
+     *
+     * @param name name of the column
+     * @param parserId id of the parser used
+     * @param weight importance of this column
+     * @param indexed true if the column is indexed
+     */
+    public Column(String name, String parserId, int weight, boolean indexed) {
+        this(name, parserId, weight, null, indexed, MatchPolicy.ALWAYS);
+    }
+
+    /**
+     * This is a basic constructor initializing values. No logic is performed.
+     * <br><br>
+     * <b>Note</b><br>
+     * This constructor uses the default value <code>0</code> for the column weight and no sql type.
+     *
+     * @param name name of the column
+     * @param parserId id of the parser used
+     * @param indexed true if the column is indexed
+     * @param matchPolicy when the column is searched
+     */
+    public Column(String name, String parserId, boolean indexed, MatchPolicy matchPolicy) {
+        this(name, parserId, 0, null, indexed, matchPolicy);
+    }
+
+    /**
+     * This constructor initializes a column whose match policy is derived from the sql type and the index (see
+     * {@link Column#derivePolicy(JDBCType, boolean)}).
+     *
+     * @param name name of the column
+     * @param parserId id of the parser used
+     * @param weight importance of this column
+     * @param sqlType sql type of the column (<code>null</code> if unknown)
+     * @param indexed true if the column is indexed
+     */
+    public Column(String name, String parserId, int weight, JDBCType sqlType, boolean indexed) {
+        this(name, parserId, weight, sqlType, indexed, null);
+    }
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param name name of the column
+     * @param parserId id of the parser used
+     * @param weight importance of this column
+     * @param sqlType sql type of the column (<code>null</code> if unknown)
+     * @param indexed true if the column is indexed
+     * @param matchPolicy when the column is searched (<code>null</code> to derive it from the sql type and the index)
+     */
+    public Column(String name, String parserId, int weight, JDBCType sqlType, boolean indexed, MatchPolicy matchPolicy) {
         this.name = name;
         this.parserId = parserId;
         this.weight = weight;
+        this.sqlType = sqlType;
+        this.indexed = indexed;
+        this.matchPolicy = matchPolicy == null ? derivePolicy(sqlType, indexed) : matchPolicy;
+    }
+
+    /**
+     * This method derives the match policy from the metadata of a column. A predicate on an unindexed character column
+     * needs a full scan (e.g. <code>LIKE '%value%'</code>), so such a column is only searched as
+     * {@link MatchPolicy#FALLBACK fallback}. Columns of an unknown type are always searched.
+     *
+     * @param sqlType sql type of the column (<code>null</code> if unknown)
+     * @param indexed true if the column is indexed
+     * @return derived match policy
+     */
+    public static MatchPolicy derivePolicy(JDBCType sqlType, boolean indexed) {
+        if (sqlType == null || indexed) {
+            return MatchPolicy.ALWAYS;
+        }
+
+        switch (sqlType) {
+            case CHAR:
+            case VARCHAR:
+            case LONGVARCHAR:
+            case NCHAR:
+            case NVARCHAR:
+            case LONGNVARCHAR:
+            case CLOB:
+            case NCLOB:
+                return MatchPolicy.FALLBACK;
+            default:
+                return MatchPolicy.ALWAYS;
+        }
     }
 
     /**
@@ -72,12 +187,42 @@ public class Column {
         return weight;
     }
 
+    /**
+     * Returns if the column is indexed.
+     *
+     * @return true if the column is indexed
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Returns the sql type of the column or <code>null</code> if it is unknown.
+     *
+     * @return sql type of the column
+     */
+    public JDBCType getSqlType() {
+        return sqlType;
+    }
+
+    /**
+     * Returns when the column is searched.
+     *
+     * @return match policy of the column
+     */
+    public MatchPolicy getMatchPolicy() {
+        return matchPolicy;
+    }
+
     @Override
     public String toString() {
         return "Column{" +
                 "name='" + name + '\'' +
                 ", parserId='" + parserId + '\'' +
                 ", weight=" + weight +
+                ", indexed=" + indexed +
+                ", sqlType=" + sqlType +
+                ", matchPolicy=" + matchPolicy +
                 '}';
     }
 }
@@ -0,0 +1,24 @@
+package com.search2sql.table;
+
+/**
+ * This enum defines when a {@link Column} is searched for a value of the search expression.
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public enum MatchPolicy {
+
+    /**
+     * The column is searched every time its parser can parse the value. This is the default.
+     */
+    ALWAYS,
+
+    /**
+     * The column is only searched if no column with the policy {@link MatchPolicy#ALWAYS} could parse the value.
+     * <br><br>
+     * This is meant for unselective columns whose parser accepts nearly everything, e.g. text columns without an
+     * index. A value like <i>12345</i> is then only searched in the integer columns and not with
+     * <code>LIKE '%12345%'</code> in every text column.
+     */
+    FALLBACK
+}
@@ -13,13 +13,19 @@ import java.util.Set;
  * <br><br>
  * <b>Important</b><br>
  * When using multiple tables, each table should specify an unique prefix.
+ * <br><br>
+ * Optionally, the real name of the table and its primary key can be specified. They are needed when the generated sql
+ * selects from the table itself (e.g. {@link com.search2sql.impl.rewriter.UnionRewriter}). If the name isn't specified,
+ * the prefix is used as name.
  *
  * @author fuggerjaki61
  * @since 2.0-zulu
  */
 public class Table {
 
+    private final String name;
     private final String prefix;
+    private final String primaryKey;
     private final Set<Column> columns;
 
     /**
@@ -59,10 +65,45 @@ public class Table {
      * @param columns set of columns of this table
      */
     public Table(String prefix, Set<Column> columns) {
+        this(null, prefix, null, columns);
+    }
+
+    /**
+     * This is a basic constructor for the usage with rewriters that need to know the table itself.
+     *
+     * @param name real name of the table (<code>null</code> to use the prefix)
+     * @param prefix prefix of the table
+     * @param primaryKey name of the primary key column
+     * @param columns set of columns of this table
+     */
+    public Table(String name, String prefix, String primaryKey, Column... columns) {
+        this(name, prefix, primaryKey, new HashSet<>(Arrays.asList(columns)));
+    }
+
+    /**
+     * This is a basic constructor performing no logic.
+     *
+     * @param name real name of the table (<code>null</code> to use the prefix)
+     * @param prefix prefix of the table
+     * @param primaryKey name of the primary key column
+     * @param columns set of columns of this table
+     */
+    public Table(String name, String prefix, String primaryKey, Set<Column> columns) {
+        this.name = name;
         this.prefix = prefix;
+        this.primaryKey = primaryKey;
         this.columns = Collections.unmodifiableSet(columns);
     }
 
+    /**
+     * This method returns the real name of the table. If it wasn't set, the prefix is returned.
+     *
+     * @return name of the table
+     */
+    public String getName() {
+        return name != null ? name : prefix;
+    }
+
     /**
      * This method returns the prefix that was set via the constructor. If the value wasn't set, <code>null</code> is
      * returned as a default.
@@ -73,6 +114,15 @@ public class Table {
         return prefix;
     }
 
+    /**
+     * This method returns the name of the primary key column or <code>null</code> if it wasn't set.
+     *
+     * @return name of the primary key
+     */
+    public String getPrimaryKey() {
+        return primaryKey;
+    }
+
     /**
      * This method returns the unmodifiable set of all columns in this table.
      *
@@ -82,10 +132,35 @@ public class Table {
         return columns;
     }
 
+    /**
+     * This method finds a column of this table by its name. The name may contain the prefix of the table (e.g.
+     * <code>p.name</code>) like the column names set by the interpreters.
+     *
+     * @param columnName name of the column with or without prefix
+     * @return found column or <code>null</code> if this table doesn't contain the column
+     */
+    public Column getColumn(String columnName) {
+        if (columnName == null) {
+            return null;
+        }
+
+        for (Column column : columns) {
+            // the column name may already contain the table prefix
+            if (column.getName().equalsIgnoreCase(columnName)
+                    || (prefix != null && (prefix + "." + column.getName()).equalsIgnoreCase(columnName))) {
+                return column;
+            }
+        }
+
+        return null;
+    }
+
     @Override
     public String toString() {
         return "Table{" +
-                "prefix='" + prefix + '\'' +
+                "name='" + name + '\'' +
+                ", prefix='" + prefix + '\'' +
+                ", primaryKey='" + primaryKey + '\'' +
                 ", columns=" + columns +
                 '}';
     }
@@ -51,6 +51,34 @@ public class TableConfig {
         return tables;
     }
 
+    /**
+     * This method finds the table that contains the given column (see {@link Table#getColumn(String)}).
+     *
+     * @param columnName name of the column with or without prefix
+     * @return found table or <code>null</code> if no table contains the column
+     */
+    public Table getTable(String columnName) {
+        for (Table table : tables) {
+            if (table.getColumn(columnName) != null) {
+                return table;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * This method finds a column in all tables (see {@link Table#getColumn(String)}).
+     *
+     * @param columnName name of the column with or without prefix
+     * @return found column or <code>null</code> if no table contains the column
+     */
+    public Column getColumn(String columnName) {
+        Table table = getTable(columnName);
+
+        return table == null ? null : table.getColumn(columnName);
+    }
+
     @Override
     public String toString() {
         return "TableConfig{" +
@@ -0,0 +1,374 @@
+package com.search2sql.tools;
+
+import com.search2sql.Search;
+import com.search2sql.SearchBuilder;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.ExpressionInterpreter;
+import com.search2sql.query.BoundQuery;
+import com.search2sql.query.expression.Canonicalizer;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is a command line tool that translates files of logged searches (one search per line) into sql shapes and
+ * parameters, e.g. for analytics.
+ * <br><br>
+ * The input file is split into chunks of whole lines that are memory-mapped and processed in parallel. Every worker
+ * thread has its own workspace (line buffer and output buffer), so the threads only share the {@link Search}. The
+ * workers hand their output in blocks to a single writer thread through a bounded queue; when the writer can't keep
+ * up, the workers wait instead of filling the memory.
+ * <br><br>
+ * Every line of the output file contains (separated by tabs):
+ * <ol>
+ *     <li>the byte offset of the search in the input file</li>
+ *     <li>the id of the sql shape (<code>-1</code> if the search is invalid)</li>
+ *     <li>the parameters (separated by <code>,</code>)</li>
+ *     <li>the error code (empty if the search is valid)</li>
+ * </ol>
+ * The lines aren't in the order of the input file. The id of a shape is the 64-bit fingerprint of its sql (see
+ * {@link Canonicalizer#fingerprint(String)}) as 16 hexadecimal digits, so it doesn't depend on the thread that reaches
+ * the shape first and is the same in every run and for every file. The sql of every shape id is written, sorted by the
+ * id, to a second file with the same name and the suffix <code>.shapes</code>.
+ * <br><br>
+ * Usage: <code>java -jar search2sql.jar [--threads n] [--and] input output column=parserId ...</code>
+ *
+ * @author fuggerjaki61
+ * @since 2.1-alpha
+ */
+public class LogTranslator {
+
+    private static final int CHUNK_SIZE = 16 * 1024 * 1024;
+    private static final int BLOCK_SIZE = 256 * 1024;
+    private static final String END = "";
+
+    private final Search search;
+    private final int threads;
+
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final AtomicLong lines = new AtomicLong();
+
+    /**
+     * This is a basic constructor initializing values.
+     *
+     * @param search search that translates the lines
+     * @param threads count of worker threads
+     */
+    public LogTranslator(Search search, int threads) {
+        this.search = search;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * This method runs the tool from the command line.
+     *
+     * @param args command line arguments
+     * @throws Exception thrown if the files can't be read or written
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean implicitAnd = false;
+        List<String> arguments = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if ("--threads".equals(args[i]) && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else if ("--and".equals(args[i])) {
+                implicitAnd = true;
+            } else {
+                arguments.add(args[i]);
+            }
+        }
+
+        if (arguments.size() < 3) {
+            usage();
+        }
+
+        // in the order of the arguments, so the sql of a shape (and therefore its id) is the same in every run
+        Set<Column> columns = new LinkedHashSet<>();
+
+        for (String column : arguments.subList(2, arguments.size())) {
+            String[] split = column.split("=", 2);
+
+            if (split.length < 2 || split[0].isEmpty() || split[1].isEmpty()) {
+                System.err.println("Invalid column '" + column + "'.");
+                usage();
+            }
+
+            columns.add(new Column(split[0], split[1]));
+        }
+
+        Search search = new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(columns)))
+                .setInterpreter(new ExpressionInterpreter(implicitAnd))
+                .build();
+
+        long start = System.nanoTime();
+        long count = new LogTranslator(search, threads).translate(Paths.get(arguments.get(0)), Paths.get(arguments.get(1)));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.err.printf("%d lines in %.1f s (%.0f lines/s)%n", count, seconds, count / seconds);
+    }
+
+    private static void usage() {
+        System.err.println("Usage: java -jar search2sql.jar [--threads n] [--and] input output column=parserId ...");
+        System.exit(1);
+    }
+
+    /**
+     * This method translates every line of the input file and writes the results to the output file.
+     *
+     * @param input file with one search per line (UTF-8)
+     * @param output file the results are written to
+     * @return count of translated lines
+     * @throws IOException thrown if a file can't be read or written
+     * @throws InterruptedException thrown if the thread was interrupted
+     */
+    public long translate(Path input, Path output) throws IOException, InterruptedException {
+        BlockingQueue<String> queue = new ArrayBlockingQueue<>(threads * 4);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        IOException[] writeError = new IOException[1];
+        Thread writer = new Thread(() -> writeError[0] = write(output, queue), "search2sql-log-writer");
+
+        writer.start();
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            List<Future<?>> futures = new ArrayList<>();
+            long size = channel.size();
+            long start = 0;
+
+            // split the file into chunks that end at the end of a line
+            while (start < size) {
+                long end = endOfLine(channel, Math.min(size, start + CHUNK_SIZE));
+                long chunkStart = start;
+
+                futures.add(workers.submit(() -> {
+                    process(channel, chunkStart, end, queue);
+
+                    return null;
+                }));
+
+                start = end;
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+
+            // tell the writer that there's nothing more
+            queue.put(END);
+            writer.join();
+        }
+
+        if (writeError[0] != null) {
+            throw writeError[0];
+        }
+
+        writeShapes(output.resolveSibling(output.getFileName() + ".shapes"));
+
+        return lines.get();
+    }
+
+    private long endOfLine(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        while (position < channel.size()) {
+            buffer.clear();
+
+            int read = channel.read(buffer, position);
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+
+            position += read;
+        }
+
+        return position;
+    }
+
+    private void process(FileChannel channel, long start, long end, BlockingQueue<String> queue) throws IOException, InterruptedException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        Workspace workspace = new Workspace();
+        long offset = start;
+        int length = 0;
+
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+
+            if (b != '\n') {
+                workspace.append(b, length++);
+
+                continue;
+            }
+
+            translate(workspace, offset, length, queue);
+
+            offset = start + buffer.position();
+            length = 0;
+        }
+
+        // the last line may not end with a line break
+        if (length > 0) {
+            translate(workspace, offset, length, queue);
+        }
+
+        if (workspace.output.length() > 0) {
+            queue.put(workspace.output.toString());
+        }
+    }
+
+    private void translate(Workspace workspace, long offset, int length, BlockingQueue<String> queue) throws InterruptedException {
+        // ignore the carriage return of windows line breaks
+        if (length > 0 && workspace.line[length - 1] == '\r') {
+            length--;
+        }
+
+        String line = new String(workspace.line, 0, length, StandardCharsets.UTF_8);
+        StringBuilder output = workspace.output;
+
+        output.append(offset).append('\t');
+
+        try {
+            BoundQuery bound = search.bind(line);
+
+            output.append(shapes.computeIfAbsent(bound.getSql(), LogTranslator::shapeId)).append('\t');
+
+            for (int i = 0; i < bound.getParameters().size(); i++) {
+                if (i > 0) {
+                    output.append(',');
+                }
+
+                appendEscaped(output, String.valueOf(bound.getParameters().get(i)));
+            }
+
+            output.append('\t');
+        } catch (InvalidSearchException e) {
+            output.append("-1\t\t").append(e.getErrorCode());
+        } catch (RuntimeException e) {
+            // an error of the configuration or an unknown error
+            output.append("-1\t\t0");
+        }
+
+        output.append('\n');
+        lines.incrementAndGet();
+
+        // hand full blocks over to the writer; this waits if the writer is too slow
+        if (output.length() >= BLOCK_SIZE) {
+            queue.put(output.toString());
+            output.setLength(0);
+        }
+    }
+
+    private static String shapeId(String sql) {
+        return String.format("%016x", Canonicalizer.fingerprint(sql.trim()));
+    }
+
+    private void appendEscaped(StringBuilder output, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            // the separators of the output are escaped
+            if (c == '\t' || c == '\n' || c == ',' || c == '\\') {
+                output.append('\\').append(c == '\t' ? 't' : c == '\n' ? 'n' : c);
+            } else {
+                output.append(c);
+            }
+        }
+    }
+
+    private IOException write(Path output, BlockingQueue<String> queue) {
+        IOException error = null;
+
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            for (String block = queue.take(); !END.equals(block); block = queue.take()) {
+                writer.write(block);
+            }
+        } catch (IOException e) {
+            error = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return null;
+        }
+
+        // keep taking the blocks after an error, so the workers don't wait forever
+        try {
+            while (error != null && !END.equals(queue.take())) {
+                // discard the block
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return error;
+    }
+
+    private void writeShapes(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            Map<String, String> sorted = new TreeMap<>();
+
+            for (Map.Entry<String, String> shape : shapes.entrySet()) {
+                sorted.put(shape.getValue(), shape.getKey().trim());
+            }
+
+            for (Map.Entry<String, String> shape : sorted.entrySet()) {
+                writer.write(shape.getKey() + "\t" + shape.getValue());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * This is the workspace of a worker thread. It is reused for every line of a chunk.
+     */
+    private static class Workspace {
+
+        private byte[] line = new byte[256];
+        private final StringBuilder output = new StringBuilder(BLOCK_SIZE + 1024);
+
+        private void append(byte b, int index) {
+            if (index >= line.length) {
+                byte[] grown = new byte[line.length * 2];
+
+                System.arraycopy(line, 0, grown, 0, line.length);
+
+                line = grown;
+            }
+
+            line[index] = b;
+        }
+    }
+}
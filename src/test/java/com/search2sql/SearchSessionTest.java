@@ -0,0 +1,49 @@
+package com.search2sql;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.ExpressionInterpreter;
+import com.search2sql.query.BoundQuery;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchSessionTest {
+
+    private final Search search = new SearchBuilder()
+            .setTableConfig(new TableConfig(new Table(
+                    new Column("id", ParserTypes.INT),
+                    new Column("name", ParserTypes.TEXT))))
+            .setInterpreter(new ExpressionInterpreter())
+            .build();
+
+    @Test
+    void update() throws InvalidSearchException {
+        SearchSession session = search.newSession();
+
+        // every update returns the same as binding the whole search
+        for (String typed : Arrays.asList("1", "1 a", "1 an", "1 and", "1 and j", "1 and jo", "(1 and jo) or 5",
+                "(1 and jo) or 56", "\"john smith\" 2", "\"john smith\" 23")) {
+            assertEquals(search.bind(typed), session.update(typed), typed);
+        }
+
+        // only the value changed, so the sql is reused
+        BoundQuery first = session.update("1 and joh");
+        BoundQuery second = session.update("1 and john");
+
+        assertSame(first.getSql(), second.getSql());
+        assertEquals(search.bind("1 and john").getParameters(), second.getParameters());
+        assertTrue(second.getParameters().contains("%john%"));
+
+        // an invalid search doesn't break the session
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> session.update("1 and \"john"));
+
+        assertEquals(2, exception.getErrorCode());
+        assertEquals(search.bind("1 and \"john\""), session.update("1 and \"john\""));
+    }
+}
@@ -1,13 +1,40 @@
 package com.search2sql;
 
+import com.search2sql.batch.BatchResult;
+import com.search2sql.exception.IllegalUseException;
 import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.exception.SearchError;
+import com.search2sql.execution.RowMapper;
+import com.search2sql.execution.TieredResult;
+import com.search2sql.impl.interpreter.ExpressionInterpreter;
+import com.search2sql.impl.parser.provided.MatchMode;
+import com.search2sql.query.BindResult;
+import com.search2sql.query.BoundQuery;
+import com.search2sql.query.Keyset;
+import com.search2sql.query.SortColumn;
 import com.search2sql.table.Column;
 import com.search2sql.table.Table;
 import com.search2sql.table.TableConfig;
+import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class SearchTest {
 
@@ -21,4 +48,266 @@ class SearchTest {
 
         System.out.println(ps);
     }
+
+    @Test
+    void limits() throws InvalidSearchException {
+        TableConfig tableConfig = new TableConfig(new Table(
+                new Column("id", ParserTypes.INT),
+                new Column("text", ParserTypes.TEXT)));
+
+        assertLimit(8, new SearchBuilder().setTableConfig(tableConfig).setMaxInputLength(5), "abc test");
+        assertLimit(9, new SearchBuilder().setTableConfig(tableConfig).setMaxTokens(2), "a b c");
+        assertLimit(10, new SearchBuilder().setTableConfig(tableConfig).setMaxPredicates(3), "1 2");
+        assertLimit(16, new SearchBuilder().setTableConfig(tableConfig).setMaxParameters(3), "1 2");
+        assertLimit(11, new SearchBuilder().setTableConfig(tableConfig).setMaxSqlLength(10), "abc");
+
+        Search search = new SearchBuilder().setTableConfig(tableConfig).setMaxPredicates(3).build();
+
+        assertEquals(5, search.interpret("1 abc").getSubQueries().size());
+    }
+
+    @Test
+    void bindAll() throws InterruptedException {
+        Search search = new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(new Column("id", ParserTypes.INT))))
+                .setInterpreter(new ExpressionInterpreter())
+                .build();
+
+        List<String> searches = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            searches.add(i % 100 == 0 ? "abc" : i + " and " + (i + 1));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<BatchResult<BoundQuery>> results = search.bindAll(searches, pool);
+
+        pool.shutdown();
+
+        assertEquals(1000, results.size());
+
+        for (int i = 0; i < results.size(); i++) {
+            BatchResult<BoundQuery> result = results.get(i);
+
+            assertEquals(i, result.getIndex());
+
+            if (i % 100 == 0) {
+                assertFalse(result.isSuccess());
+                assertEquals(1, ((InvalidSearchException) result.getError()).getErrorCode());
+            } else {
+                assertEquals("id = ? AND id = ?", result.getValue().getSql().trim());
+                assertEquals(Arrays.asList(i, i + 1), result.getValue().getParameters());
+            }
+        }
+
+        assertEquals("id = ?", search.translateAll(Arrays.asList("1")).get(0).getValue().trim());
+    }
+
+    @Test
+    void async() throws Exception {
+        Search search = new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(new Column("id", ParserTypes.INT))))
+                .setInterpreter(new ExpressionInterpreter())
+                .build();
+
+        ExecutorService interpreting = Executors.newFixedThreadPool(2);
+        ExecutorService jdbc = Executors.newSingleThreadExecutor();
+
+        try {
+            assertEquals(Arrays.asList(1, 2), search.bindAsync("1 or 2", interpreting).get().getParameters());
+            assertNotNull(search.prepareStatementAsync("1 or 2", new TestConnection(), "", "", 1, interpreting, jdbc).get());
+
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> search.prepareStatementAsync("abc", new TestConnection(), "", "", 1, interpreting, jdbc).get());
+
+            assertEquals(1, ((InvalidSearchException) exception.getCause()).getErrorCode());
+        } finally {
+            interpreting.shutdown();
+            jdbc.shutdown();
+        }
+    }
+
+    @Test
+    void tryBind() {
+        Search search = new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(new Column("id", ParserTypes.INT))))
+                .setInterpreter(new ExpressionInterpreter())
+                .build();
+
+        BindResult result = search.tryBind("1 or 2");
+
+        assertTrue(result.isSuccess());
+        assertEquals(Arrays.asList(1, 2), result.getQuery().getParameters());
+
+        result = search.tryBind("1 or (2");
+
+        assertFalse(result.isSuccess());
+        assertNull(result.getQuery());
+        assertEquals(new SearchError(15, 5), result.getError());
+    }
+
+    @Test
+    void executeTiered() throws Exception {
+        JdbcDataSource dataSource = TestDatabase.create("tiers",
+                "CREATE TABLE people ( id INTEGER, name VARCHAR(50) )",
+                "INSERT INTO people VALUES (1, 'miller'), (2, 'millerson'), (3, 'millhouse'), (4, 'smiller')",
+                "CREATE TABLE words ( name VARCHAR(50) )",
+                "INSERT INTO words VALUES ('foobar'), ('foox'), ('bar'), ('xfoo')");
+
+        try (Connection connection = dataSource.getConnection()) {
+            Search search = TestDatabase.search(new Column("id", ParserTypes.INT), new Column("name", ParserTypes.TEXT));
+            RowMapper<String> mapper = rs -> rs.getString(1);
+            String prefix = "SELECT name FROM people WHERE";
+
+            TieredResult<String> result = search.executeTiered("miller", connection, prefix, "ORDER BY name", 1, mapper);
+
+            assertEquals(MatchMode.EXACT, result.getTier());
+            assertEquals(Collections.singletonList("miller"), result.getRows());
+            assertEquals(1, result.getExecutions());
+
+            result = search.executeTiered("miller", connection, prefix, "ORDER BY name", 2, mapper);
+
+            assertEquals(MatchMode.PREFIX, result.getTier());
+            assertEquals(Arrays.asList("miller", "millerson"), result.getRows());
+            assertEquals(2, result.getExecutions());
+
+            result = search.executeTiered("miller", connection, prefix, "ORDER BY name", 10, mapper);
+
+            assertEquals(MatchMode.CONTAINS, result.getTier());
+            assertEquals(Arrays.asList("miller", "millerson", "smiller"), result.getRows());
+            assertEquals(3, result.getExecutions());
+
+            // a negated predicate keeps its mode, because a narrower predicate would widen the result
+            Search words = TestDatabase.search(new Column("name", ParserTypes.TEXT));
+
+            result = words.executeTiered("not foo", connection, "SELECT name FROM words WHERE", "ORDER BY name", 2, mapper);
+
+            assertNull(result.getTier());
+            assertEquals(Collections.singletonList("bar"), result.getRows());
+
+            result = words.executeTiered("bar and not foo", connection, "SELECT name FROM words WHERE", "ORDER BY name", 2, mapper);
+
+            assertEquals(MatchMode.CONTAINS, result.getTier());
+            assertEquals(Collections.singletonList("bar"), result.getRows());
+            assertEquals(3, result.getExecutions());
+
+            result = TestDatabase.search().executeTiered("1", connection, prefix, "", 10, mapper);
+
+            assertNull(result.getTier());
+            assertEquals(1, result.getExecutions());
+        }
+    }
+
+    @Test
+    void stream() throws Exception {
+        JdbcDataSource dataSource = TestDatabase.create("stream",
+                "CREATE TABLE numbers ( id INTEGER )",
+                "INSERT INTO numbers SELECT x FROM SYSTEM_RANGE(1, 10000)");
+
+        try (Connection connection = dataSource.getConnection()) {
+            Search search = TestDatabase.search();
+            List<ResultSet> resultSets = new ArrayList<>();
+            RowMapper<Integer> mapper = rs -> {
+                resultSets.add(rs);
+
+                return rs.getInt(1);
+            };
+
+            // only the taken rows are mapped and closing the stream closes the result set
+            try (Stream<Integer> stream = search.stream("1...10000", connection, "SELECT id FROM numbers WHERE", "ORDER BY id", 10, mapper)) {
+                assertEquals(Arrays.asList(1, 2, 3), stream.limit(3).collect(Collectors.toList()));
+            }
+
+            assertEquals(3, resultSets.size());
+            assertTrue(resultSets.get(0).isClosed());
+            assertTrue(connection.getAutoCommit());
+
+            // the result set is closed as soon as the last row was read
+            resultSets.clear();
+
+            Stream<Integer> stream = search.stream("1...5", connection, "SELECT id FROM numbers WHERE", "", mapper);
+
+            assertEquals(15, stream.mapToInt(Integer::intValue).sum());
+            assertTrue(resultSets.get(0).isClosed());
+
+            assertThrows(InvalidSearchException.class, () -> search.stream("abc", connection, "SELECT id FROM numbers WHERE", "", mapper));
+
+            // a failing mapper closes the result set before the exception is rethrown
+            resultSets.clear();
+
+            Stream<Integer> failing = search.stream("1...5", connection, "SELECT id FROM numbers WHERE", "", rs -> {
+                resultSets.add(rs);
+
+                throw new IllegalStateException();
+            });
+
+            assertThrows(IllegalStateException.class, () -> failing.forEach(id -> { }));
+            assertTrue(resultSets.get(0).isClosed());
+            assertTrue(connection.getAutoCommit());
+        }
+    }
+
+    @Test
+    void keyset() throws Exception {
+        JdbcDataSource dataSource = TestDatabase.create("keyset",
+                "CREATE TABLE items ( id INTEGER PRIMARY KEY, grp INTEGER )",
+                "INSERT INTO items SELECT x, MOD(x, 4) FROM SYSTEM_RANGE(1, 50)");
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            Search search = TestDatabase.search();
+
+            for (boolean rowValues : new boolean[]{true, false}) {
+                for (SortColumn grp : Arrays.asList(SortColumn.asc("grp"), SortColumn.desc("grp"))) {
+                    Keyset keyset = new Keyset(Arrays.asList(grp, SortColumn.asc("id")), rowValues);
+                    List<Integer> expected = new ArrayList<>();
+                    List<Integer> paged = new ArrayList<>();
+
+                    try (ResultSet rs = statement.executeQuery("SELECT id FROM items WHERE grp <> 2 AND ( id BETWEEN 3 AND 40 OR id = 45 ) " + keyset.orderBy())) {
+                        while (rs.next()) {
+                            expected.add(rs.getInt(1));
+                        }
+                    }
+
+                    // the search has an OR, so it must be enclosed and the parameters follow the one of the prefix
+                    while (true) {
+                        List<Object> last = null;
+
+                        try (PreparedStatement ps = search.prepareStatement("3...40 or 45", connection,
+                                "SELECT id, grp FROM items WHERE grp <> ? AND", keyset.orderBy() + " LIMIT 7", 2, keyset)) {
+                            ps.setInt(1, 2);
+
+                            try (ResultSet rs = ps.executeQuery()) {
+                                while (rs.next()) {
+                                    paged.add(rs.getInt(1));
+                                    last = Arrays.asList(rs.getInt(2), rs.getInt(1));
+                                }
+                            }
+                        }
+
+                        if (last == null) {
+                            break;
+                        }
+
+                        keyset = keyset.next(last);
+                    }
+
+                    assertEquals(expected, paged);
+                }
+            }
+        }
+
+        Keyset keyset = new Keyset(Arrays.asList(SortColumn.asc("a"), SortColumn.asc("b")), Arrays.asList(1, 2), false);
+
+        assertEquals("( ( a > ? ) OR ( a = ? AND b > ? ) )", keyset.toSql());
+        assertEquals(Arrays.asList(1, 1, 2), keyset.getParameters());
+        assertEquals("( a, b ) > ( ?, ? )", new Keyset(keyset.getColumns(), Arrays.asList(1, 2), true).toSql());
+        assertThrows(IllegalUseException.class, () -> SortColumn.asc("id; DROP TABLE items"));
+    }
+
+    private void assertLimit(int errorCode, SearchBuilder builder, String search) {
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> builder.build().prepareStatement(search, new TestConnection(), "", "", 1));
+
+        assertEquals(errorCode, exception.getErrorCode());
+    }
 }
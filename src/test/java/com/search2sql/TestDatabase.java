@@ -0,0 +1,76 @@
+package com.search2sql;
+
+import com.search2sql.impl.interpreter.ExpressionInterpreter;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory H2 databases for the tests that execute searches. Every database has the aliases <code>SLOW(id)</code>,
+ * which takes 20 milliseconds per row, and <code>BLOCK(id)</code>, which waits until {@link #release()} is called.
+ */
+public class TestDatabase {
+
+    private static volatile CountDownLatch blocked = new CountDownLatch(1);
+    private static volatile CountDownLatch released = new CountDownLatch(1);
+
+    public static JdbcDataSource create(String name, String... statements) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE ALIAS IF NOT EXISTS SLOW FOR \"com.search2sql.TestDatabase.slow\"");
+            statement.execute("CREATE ALIAS IF NOT EXISTS BLOCK FOR \"com.search2sql.TestDatabase.block\"");
+
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+
+        return dataSource;
+    }
+
+    public static Search search() {
+        return search(new Column("id", ParserTypes.INT));
+    }
+
+    public static Search search(Column... columns) {
+        return new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(columns)))
+                .setInterpreter(new ExpressionInterpreter())
+                .build();
+    }
+
+    public static boolean slow(int id) throws InterruptedException {
+        Thread.sleep(20);
+
+        return true;
+    }
+
+    public static boolean block(int id) throws InterruptedException {
+        blocked.countDown();
+
+        return released.await(10, TimeUnit.SECONDS);
+    }
+
+    public static void arm() {
+        blocked = new CountDownLatch(1);
+        released = new CountDownLatch(1);
+    }
+
+    public static void awaitBlocked() throws InterruptedException {
+        blocked.await();
+    }
+
+    public static void release() {
+        released.countDown();
+    }
+}
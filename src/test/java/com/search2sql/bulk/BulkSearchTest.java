@@ -0,0 +1,151 @@
+package com.search2sql.bulk;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.Search;
+import com.search2sql.SearchBuilder;
+import com.search2sql.impl.interpreter.LogicInterpreter;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkSearchTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:bulk");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders ( id INTEGER PRIMARY KEY )");
+            statement.execute("INSERT INTO orders SELECT x FROM SYSTEM_RANGE(1, 5000)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void values() throws Exception {
+        assertEquals(2000, count(new BulkConfig("id")));
+    }
+
+    @Test
+    void temporaryTable() throws Exception {
+        assertEquals(2000, count(new BulkConfig("id", "INTEGER", BulkMode.TEMPORARY_TABLE, 100, 300)));
+    }
+
+    @Test
+    void fallback() throws Exception {
+        Search search = search(new BulkConfig("id"));
+
+        try (PreparedStatement ps = search.prepareBulkStatement(new StringReader("1, 2 or 3"), connection,
+                "SELECT COUNT(*) FROM orders WHERE", "", 1);
+             ResultSet rs = ps.executeQuery()) {
+            assertTrue(rs.next());
+            assertEquals(3, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void originalText() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE notes ( id INTEGER, text VARCHAR(50) )");
+            statement.execute("INSERT INTO notes VALUES (1, 'foo, bar'), (2, 'foo  bar'), (12, 'x')");
+        }
+
+        Search search = new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(new Column("id", ParserTypes.INT), new Column("text", ParserTypes.TEXT))))
+                .setInterpreter(new LogicInterpreter())
+                .setBulkConfig(new BulkConfig("id"))
+                .build();
+
+        // the comma is part of the phrase, so the search must not be rebuilt from the tokens
+        try (PreparedStatement ps = search.prepareBulkStatement(new StringReader("12, \"foo, bar\""), connection,
+                "SELECT id FROM notes WHERE", "ORDER BY id", 1);
+             ResultSet rs = ps.executeQuery()) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+            assertTrue(rs.next());
+            assertEquals(12, rs.getInt(1));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    void prefixParameters() throws Exception {
+        // the 2000 keys alone would fit, but not together with the parameter of the prefix
+        BulkConfig config = new BulkConfig("id", "INTEGER", BulkMode.VALUES, 100, 1000, 2000, "bulk_keys");
+
+        assertEquals(1999, count(config, "SELECT COUNT(*) FROM orders WHERE id <> ? AND", 1));
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM bulk_keys")) {
+            assertTrue(rs.next());
+            assertEquals(2000, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void queryTimeout() throws Exception {
+        Search search = new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(new Column("id", ParserTypes.INT))))
+                .setInterpreter(new LogicInterpreter())
+                .setBulkConfig(new BulkConfig("id"))
+                .setQueryTimeout(7)
+                .build();
+
+        try (PreparedStatement ps = search.prepareBulkStatement(new StringReader(keys()), connection,
+                "SELECT COUNT(*) FROM orders WHERE", "", 1)) {
+            assertEquals(7, ps.getQueryTimeout());
+        }
+    }
+
+    private int count(BulkConfig config) throws Exception {
+        return count(config, "SELECT COUNT(*) FROM orders WHERE", null);
+    }
+
+    private int count(BulkConfig config, String queryPrefix, Integer excluded) throws Exception {
+        try (PreparedStatement ps = search(config).prepareBulkStatement(new StringReader(keys()), connection,
+                queryPrefix, "", excluded == null ? 1 : 2)) {
+            if (excluded != null) {
+                ps.setInt(1, excluded);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private String keys() {
+        // 2000 keys separated like a pasted spreadsheet column
+        StringBuilder keys = new StringBuilder();
+
+        for (int i = 1; i <= 4000; i += 2) {
+            keys.append(i).append(i % 3 == 0 ? ",\n" : "\r\n");
+        }
+
+        return keys.toString();
+    }
+
+    private Search search(BulkConfig config) {
+        return new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(new Column("id", ParserTypes.INT))))
+                .setInterpreter(new LogicInterpreter())
+                .setBulkConfig(config)
+                .build();
+    }
+}
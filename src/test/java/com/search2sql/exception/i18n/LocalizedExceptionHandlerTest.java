@@ -2,6 +2,10 @@ package com.search2sql.exception.i18n;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 public class LocalizedExceptionHandlerTest {
 
     @Test
@@ -14,4 +18,20 @@ public class LocalizedExceptionHandlerTest {
 
         //fail();
     }
-}
\ No newline at end of file
+
+    @Test
+    void fallbacks() {
+        ExceptionHandler english = new LocalizedExceptionHandler(Locale.ENGLISH);
+        ExceptionHandler german = new LocalizedExceptionHandler(Locale.GERMAN, Locale.ENGLISH);
+
+        assertEquals("There is no column that can handle this search expression.", english.handle(1));
+        assertNotEquals(english.handle(1), german.handle(1));
+
+        // french isn't translated, so english is used
+        assertEquals(english.handle(1), new LocalizedExceptionHandler(Locale.FRENCH, Locale.ENGLISH).handle(1));
+
+        // unknown codes get the message of the error code 0
+        assertEquals(german.handle(0), german.handle(9999));
+        assertEquals(german.handle(0), german.handle(-1));
+    }
+}
@@ -0,0 +1,138 @@
+package com.search2sql.execution;
+
+import com.search2sql.Search;
+import com.search2sql.TestDatabase;
+import com.search2sql.exception.SearchRejectedException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveExecutorTest {
+
+    @Test
+    void fairness() throws Exception {
+        JdbcDataSource dataSource = TestDatabase.create("adaptive",
+                "CREATE TABLE items ( id INTEGER PRIMARY KEY )",
+                "INSERT INTO items SELECT x FROM SYSTEM_RANGE(1, 10)");
+        Search search = TestDatabase.search();
+        AdaptiveExecutor executor = new AdaptiveExecutor(search, dataSource, 1, 1, 10, TimeUnit.SECONDS);
+        AdaptiveExecutor rejecting = new AdaptiveExecutor(search, dataSource, 1, 4, 0, TimeUnit.SECONDS);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newCachedThreadPool();
+
+        executor.setWeight("b", 2);
+        TestDatabase.arm();
+
+        try {
+            // the only slot is taken until the blocking search is released
+            Future<List<Integer>> blocking = pool.submit(() -> executor.execute("a", "1",
+                    "SELECT id FROM items WHERE BLOCK(id) AND", "", rs -> rs.getInt(1)));
+
+            TestDatabase.awaitBlocked();
+
+            List<Future<List<String>>> futures = new ArrayList<>();
+
+            for (String tenant : Arrays.asList("a", "a", "a", "a", "b", "b", "b", "b")) {
+                int depth = executor.getQueueDepth();
+
+                futures.add(pool.submit(() -> executor.execute(tenant, "2", "SELECT id FROM items WHERE", "", rs -> {
+                    order.add(tenant);
+
+                    return tenant;
+                })));
+
+                // wait until the search is queued, so the order of arrival is known
+                while (executor.getQueueDepth() == depth) {
+                    Thread.sleep(1);
+                }
+            }
+
+            assertEquals(8, executor.getQueueDepth());
+            assertEquals(1, executor.getInFlight());
+
+            // a search without queue timeout is rejected while the slot is taken
+            Future<List<Integer>> other = pool.submit(() -> rejecting.execute("c", "1",
+                    "SELECT id FROM items WHERE BLOCK(id) AND", "", rs -> rs.getInt(1)));
+
+            while (rejecting.getInFlight() == 0) {
+                Thread.sleep(1);
+            }
+
+            assertThrows(SearchRejectedException.class, () -> rejecting.execute("c", "2", "SELECT id FROM items WHERE", "", rs -> rs.getInt(1)));
+            assertEquals(1, rejecting.getRejected());
+
+            TestDatabase.release();
+
+            assertEquals(Collections.singletonList(1), blocking.get());
+            assertEquals(Collections.singletonList(1), other.get());
+
+            for (Future<List<String>> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // the tenant with twice the weight gets two executions for every execution of the other one
+        assertEquals(Arrays.asList("b", "a", "b", "b", "a", "b", "a", "a"), order);
+        assertEquals(0, executor.getQueueDepth());
+        assertEquals(1, executor.getLimit());
+    }
+
+    @Test
+    void limit() throws Exception {
+        JdbcDataSource dataSource = TestDatabase.create("limit",
+                "CREATE TABLE items ( id INTEGER PRIMARY KEY )",
+                "INSERT INTO items SELECT x FROM SYSTEM_RANGE(1, 10)");
+        AdaptiveExecutor executor = new AdaptiveExecutor(TestDatabase.search(), dataSource, 1, 4, 10, TimeUnit.SECONDS);
+        String slow = "SELECT id FROM items WHERE SLOW(id) AND";
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            // every search reads one slow row, so the latency stays the same and the limit grows while it is used
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> {
+                    for (int j = 0; j < 5; j++) {
+                        executor.execute("a", "1", slow, "", rs -> rs.getInt(1));
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(4, executor.getLimit());
+
+        // a fast failure isn't measured, so the next normal search isn't seen as overloaded
+        assertThrows(IllegalStateException.class, () -> executor.execute("a", "1", "SELECT id FROM items WHERE", "", rs -> {
+            throw new IllegalStateException();
+        }));
+        executor.execute("a", "1", slow, "", rs -> rs.getInt(1));
+
+        assertEquals(4, executor.getLimit());
+        assertEquals(0, executor.getInFlight());
+
+        // five slow rows take more than twice as long as the fastest search
+        executor.execute("a", "1...5", slow, "", rs -> rs.getInt(1));
+
+        assertEquals(3, executor.getLimit());
+    }
+}
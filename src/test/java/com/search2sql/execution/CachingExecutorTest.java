@@ -0,0 +1,74 @@
+package com.search2sql.execution;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.Search;
+import com.search2sql.TestDatabase;
+import com.search2sql.table.Column;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingExecutorTest {
+
+    @Test
+    void cache() throws Exception {
+        JdbcDataSource dataSource = TestDatabase.create("cache",
+                "CREATE TABLE people ( name VARCHAR(50) )",
+                "INSERT INTO people VALUES ('foo'), ('bar'), ('baz')");
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            Search search = TestDatabase.search(new Column("name", ParserTypes.TEXT));
+            ResultCache cache = new ResultCache(6, 1, TimeUnit.MINUTES);
+            CachingExecutor executor = new CachingExecutor(search, dataSource, cache);
+            RowMapper<String> mapper = rs -> rs.getString(1);
+            String prefix = "SELECT name FROM people WHERE";
+
+            List<String> rows = executor.execute("foo bar", prefix, "ORDER BY name", mapper, "people");
+
+            assertEquals(Arrays.asList("bar", "foo"), rows);
+            // the same search in another form is answered by the cache
+            assertSame(rows, executor.execute("bar  foo", prefix, "ORDER BY name", mapper, "PEOPLE"));
+            assertSame(rows, executor.execute("bar OR foo", prefix, "ORDER BY name", mapper, "people"));
+            assertSame(rows, executor.execute("bar or foo or bar", prefix, "ORDER BY name", mapper, "people"));
+            assertEquals(1, cache.size());
+            assertEquals(3, cache.getWeight());
+
+            // a change of the table removes the result
+            statement.execute("INSERT INTO people VALUES ('foobar')");
+            cache.invalidate("People");
+
+            assertEquals(0, cache.size());
+            assertEquals(Arrays.asList("bar", "foo", "foobar"), executor.execute("foo bar", prefix, "ORDER BY name", mapper, "people"));
+
+            // a result read during an invalidation isn't cached
+            long stamp = cache.stamp();
+
+            cache.invalidate("people");
+
+            assertFalse(cache.put("key", Collections.singletonList("stale"), Collections.singletonList("people"), stamp));
+
+            // the least recently used results are evicted
+            List<String> baz = executor.execute("baz", prefix, "", mapper, "people");
+
+            executor.execute("bar", prefix, "", mapper, "people");
+
+            assertEquals(5, cache.getWeight());
+            assertSame(baz, executor.execute("baz", prefix, "", mapper, "people"));
+
+            // foo and foobar weigh 3, so the least recently used bar must go
+            executor.execute("foo", prefix, "", mapper, "people");
+
+            assertEquals(1, cache.getEvictions());
+            assertEquals(5, cache.getWeight());
+            assertSame(baz, executor.execute("baz", prefix, "", mapper, "people"));
+        }
+    }
+}
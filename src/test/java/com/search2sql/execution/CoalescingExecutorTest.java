@@ -0,0 +1,86 @@
+package com.search2sql.execution;
+
+import com.search2sql.Search;
+import com.search2sql.TestDatabase;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingExecutorTest {
+
+    @Test
+    void coalesce() throws Exception {
+        JdbcDataSource dataSource = TestDatabase.create("flights",
+                "CREATE TABLE tickets ( id INTEGER PRIMARY KEY )",
+                "INSERT INTO tickets SELECT x FROM SYSTEM_RANGE(1, 10)");
+        Search search = TestDatabase.search();
+        CoalescingExecutor executor = new CoalescingExecutor(search, dataSource);
+        RowMapper<Integer> mapper = rs -> rs.getInt(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+
+                    return executor.execute("7", "SELECT id FROM tickets WHERE SLOW(id) AND", "", mapper);
+                }));
+            }
+
+            start.countDown();
+
+            List<Integer> first = futures.get(0).get();
+
+            assertEquals(Collections.singletonList(7), first);
+
+            for (Future<List<Integer>> future : futures) {
+                assertSame(first, future.get());
+            }
+
+            assertEquals(1, executor.getExecutions());
+            assertEquals(7, executor.getShared());
+        } finally {
+            pool.shutdown();
+        }
+
+        // without a reuse window every completed search runs again
+        assertEquals(Collections.singletonList(7), executor.execute("7", "SELECT id FROM tickets WHERE", "", mapper));
+        assertEquals(2, executor.getExecutions());
+
+        CoalescingExecutor reusing = new CoalescingExecutor(search, dataSource, 1, TimeUnit.MINUTES);
+
+        List<Integer> rows = reusing.execute("1 or 2", "SELECT id FROM tickets WHERE", "ORDER BY id", mapper);
+
+        assertSame(rows, reusing.execute("1 or 2", "SELECT id FROM tickets WHERE", "ORDER BY id", mapper));
+        assertNotSame(rows, reusing.execute("1 or 3", "SELECT id FROM tickets WHERE", "ORDER BY id", mapper));
+        assertEquals(2, reusing.getExecutions());
+
+        // errors aren't reused
+        assertThrows(SQLException.class, () -> reusing.execute("1", "SELECT id FROM missing WHERE", "", mapper));
+        assertThrows(SQLException.class, () -> reusing.execute("1", "SELECT id FROM missing WHERE", "", mapper));
+        assertEquals(4, reusing.getExecutions());
+
+        // an Error of the mapper doesn't block the next identical search
+        RowMapper<Integer> failing = rs -> {
+            throw new AssertionError("mapper");
+        };
+
+        assertThrows(AssertionError.class, () -> reusing.execute("1", "SELECT id FROM tickets WHERE", "", failing));
+        assertThrows(AssertionError.class, () -> reusing.execute("1", "SELECT id FROM tickets WHERE", "", failing));
+        assertEquals(6, reusing.getExecutions());
+    }
+}
@@ -0,0 +1,57 @@
+package com.search2sql.execution;
+
+import com.search2sql.Search;
+import com.search2sql.TestDatabase;
+import com.search2sql.exception.SearchSupersededException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionExecutorTest {
+
+    @Test
+    void supersede() throws Exception {
+        JdbcDataSource dataSource = TestDatabase.create("sessions",
+                "CREATE TABLE items ( id INTEGER PRIMARY KEY )",
+                "INSERT INTO items SELECT x FROM SYSTEM_RANGE(1, 500)");
+        Search search = TestDatabase.search();
+        SessionExecutor executor = new SessionExecutor(search, dataSource);
+        RowMapper<Integer> mapper = rs -> rs.getInt(1);
+
+        assertEquals(Collections.singletonList(1), executor.execute("user", "1", "SELECT id FROM items WHERE", "", mapper));
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try {
+            // this search would take 10 seconds
+            Future<List<Integer>> superseded = pool.submit(() -> executor.execute("user", "1...500",
+                    "SELECT id FROM items WHERE SLOW(id) AND (", ")", mapper));
+
+            while (!executor.isRunning("user")) {
+                Thread.sleep(5);
+            }
+
+            Thread.sleep(200);
+
+            assertEquals(Collections.singletonList(2), executor.execute("user", "2", "SELECT id FROM items WHERE", "", mapper));
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> superseded.get(5, TimeUnit.SECONDS));
+
+            assertTrue(exception.getCause() instanceof SearchSupersededException, () -> String.valueOf(exception.getCause()));
+            assertEquals(1, executor.getCancelled());
+            assertEquals(2, executor.getCompleted());
+            assertFalse(executor.isRunning("user"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
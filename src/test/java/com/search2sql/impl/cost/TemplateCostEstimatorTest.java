@@ -0,0 +1,64 @@
+package com.search2sql.impl.cost;
+
+import com.search2sql.Search;
+import com.search2sql.SearchBuilder;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.LogicInterpreter;
+import com.search2sql.query.Query;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateCostEstimatorTest {
+
+    private final TableConfig tableConfig = new TableConfig(new Table(
+            new Column("id", "default.int", true),
+            new Column("sku", "default.text#prefix", true),
+            new Column("name", "default.text")));
+
+    @Test
+    void estimate() throws InvalidSearchException {
+        Search search = builder().build();
+
+        // indexed equality OR prefix OR contains
+        assertEquals(1 + 5 + 150, search.estimateCost("12"));
+        // prefix OR contains
+        assertEquals(5 + 150, search.estimateCost("abc"));
+        // AND uses the cheapest operand
+        assertEquals(5 + 150, search.estimateCost("12 and abc"));
+        // NOT can't use an index
+        assertEquals(155, search.estimateCost("not abc"));
+    }
+
+    @Test
+    void policy() throws InvalidSearchException {
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> builder().setCostPolicy(new ThresholdCostPolicy(100)).build().interpret("abc"));
+
+        assertEquals(13, exception.getErrorCode());
+
+        Query dropped = builder().setCostPolicy(new ThresholdCostPolicy(100, CostAction.DROP_COLUMNS, null))
+                .build().interpret("abc");
+
+        assertEquals(5, dropped.getCost());
+        assertEquals(1, dropped.getSubQueries().size());
+        assertEquals("sku", dropped.getSubQueries().get(0).getColumnName());
+
+        Query routed = builder().setCostPolicy(new ThresholdCostPolicy(100, CostAction.ROUTE, "slow"))
+                .build().interpret("abc");
+
+        assertEquals("slow", routed.getRoute());
+        assertNull(builder().setCostPolicy(new ThresholdCostPolicy(1000, CostAction.ROUTE, "slow"))
+                .build().interpret("abc").getRoute());
+    }
+
+    private SearchBuilder builder() {
+        return new SearchBuilder()
+                .setTableConfig(tableConfig)
+                .setInterpreter(new LogicInterpreter())
+                .setCostEstimator(new TemplateCostEstimator());
+    }
+}
@@ -0,0 +1,102 @@
+package com.search2sql.impl.interpreter;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.exception.SearchError;
+import com.search2sql.impl.translator.FileTranslator;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionInterpreterTest {
+
+    private final TableConfig tableConfig = new TableConfig(new Table(new Column("id", "default.int")));
+
+    private final FileTranslator translator = new FileTranslator();
+
+    @Test
+    void precedence() throws InvalidSearchException {
+        assertEquals("id = ? OR id = ? AND id = ?", translate(new ExpressionInterpreter(), "1 2 and 3"));
+        assertEquals("id = ? AND ( id = ? OR id = ? )", translate(new ExpressionInterpreter(), "1 and (2 or 3)"));
+        assertEquals("NOT ( id = ? AND id = ? ) OR id = ?", translate(new ExpressionInterpreter(), "not (1 and 2) or 3"));
+        assertEquals("id = ? AND id = ? OR id = ?", translate(new ExpressionInterpreter(true), "1 2 or 3"));
+        assertEquals("", translate(new ExpressionInterpreter(), "  "));
+    }
+
+    @Test
+    void errors() {
+        assertError(15, "(1 or 2");
+        assertError(15, "1 or 2)");
+        assertError(15, "()");
+        assertError(1, "1 and abc");
+
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> new ExpressionInterpreter("and", "or", "not", false, 3, null).interpret("((((1))))", tableConfig));
+
+        assertEquals(14, exception.getErrorCode());
+        assertEquals(3, exception.getPosition());
+    }
+
+    @Test
+    void collectErrors() {
+        ExpressionInterpreter interpreter = new ExpressionInterpreter("and", "or", "not", false, 32, null, true);
+
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> interpreter.interpret("abc and (1 or 2) x) and (3", tableConfig));
+
+        assertEquals(Arrays.asList(
+                new SearchError(1, 0),
+                new SearchError(1, 17),
+                new SearchError(15, 18),
+                new SearchError(1, 20),
+                new SearchError(15, 24)), exception.getErrors());
+
+        // without collecting, only the first error is known
+        exception = assertThrows(InvalidSearchException.class,
+                () -> new ExpressionInterpreter().interpret("1 or abc)", tableConfig));
+
+        assertEquals(1, exception.getErrors().size());
+        assertEquals(5, exception.getPosition());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void validate() {
+        ExpressionInterpreter interpreter = new ExpressionInterpreter("and", "or", "not", false, 3, null);
+        String[] searches = {
+                "1 or 2", "not (1 and 2) or 3", "1 and", "and 1", "not not 1", "((1))", "(((1)))", "not ((1))",
+                "not (not 1) and (not 2)", "(1 or 2", "1 or 2)", "()", "( ", "1 and abc", "5..1", "1 (2 and (3)",
+                "(1) )", "not (((1)))", "not not not not 1", "((not 1) and ((2)))", "   ", ""
+        };
+
+        assertSame(SearchError.VALID, interpreter.validate("1 or (2 and 3)", tableConfig));
+
+        // the validation finds the same first error as interpreting
+        for (String search : searches) {
+            SearchError expected = SearchError.VALID;
+
+            try {
+                interpreter.interpret(search, tableConfig);
+            } catch (InvalidSearchException e) {
+                expected = new SearchError(e.getErrorCode(), e.getPosition());
+            }
+
+            assertEquals(expected, interpreter.validate(search, tableConfig), search);
+        }
+    }
+
+    private String translate(ExpressionInterpreter interpreter, String search) throws InvalidSearchException {
+        return translator.translate(interpreter.interpret(search, tableConfig)).trim();
+    }
+
+    private void assertError(int errorCode, String search) {
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> new ExpressionInterpreter().interpret(search, tableConfig));
+
+        assertEquals(errorCode, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,49 @@
+package com.search2sql.impl.interpreter;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.translator.FileTranslator;
+import com.search2sql.table.Column;
+import com.search2sql.table.MatchPolicy;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import java.sql.JDBCType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogicInterpreterTest {
+
+    @Test
+    void fallback() throws InvalidSearchException {
+        TableConfig tableConfig = new TableConfig(new Table(
+                new Column("id", ParserTypes.INT, true),
+                new Column("name", ParserTypes.TEXT, false, MatchPolicy.FALLBACK)));
+
+        FileTranslator translator = new FileTranslator();
+        LogicInterpreter interpreter = new LogicInterpreter();
+
+        // the integer column claims the number, so the text column isn't searched
+        assertEquals("( id = ? )", translator.translate(interpreter.interpret("12345", tableConfig)));
+        // nothing else can parse the word, so the text column is searched
+        assertEquals("( name LIKE( ? ) ESCAPE '!' )", translator.translate(interpreter.interpret("smith", tableConfig)));
+    }
+
+    @Test
+    void derivedFallback() throws InvalidSearchException {
+        TableConfig tableConfig = new TableConfig(new Table(
+                new Column("id", ParserTypes.INT, 0, JDBCType.INTEGER, true),
+                new Column("name", ParserTypes.TEXT, 0, JDBCType.VARCHAR, false)));
+
+        FileTranslator translator = new FileTranslator();
+        LogicInterpreter interpreter = new LogicInterpreter();
+
+        assertEquals(MatchPolicy.FALLBACK, new Column("name", ParserTypes.TEXT, 0, JDBCType.VARCHAR, false).getMatchPolicy());
+        assertEquals(MatchPolicy.ALWAYS, new Column("id", ParserTypes.INT, 0, JDBCType.INTEGER, false).getMatchPolicy());
+
+        // the unindexed text column is only searched if no other column can parse the value
+        assertEquals("( id = ? )", translator.translate(interpreter.interpret("12345", tableConfig)));
+        assertEquals("( name LIKE( ? ) ESCAPE '!' )", translator.translate(interpreter.interpret("smith", tableConfig)));
+    }
+}
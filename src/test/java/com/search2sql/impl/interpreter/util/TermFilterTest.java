@@ -0,0 +1,58 @@
+package com.search2sql.impl.interpreter.util;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.LogicInterpreter;
+import com.search2sql.impl.translator.FileTranslator;
+import com.search2sql.query.Query;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TermFilterTest {
+
+    private final TableConfig tableConfig = new TableConfig(new Table(
+            new Column("id", "default.int"),
+            new Column("name", "default.text")));
+
+    private final StopwordSet stopwords = new StopwordSet("the", "GmbH", "and");
+
+    @Test
+    void stopwords() {
+        assertEquals(3, stopwords.size());
+        assertTrue(stopwords.contains("gmbh"));
+        assertTrue(stopwords.contains(new StringBuilder("THE")));
+        assertFalse(stopwords.contains("then"));
+        assertFalse(StopwordSet.EMPTY.contains("the"));
+    }
+
+    @Test
+    void drop() throws InvalidSearchException {
+        LogicInterpreter interpreter = new LogicInterpreter(new TermFilter(2, stopwords, false));
+        Query query = interpreter.interpret("müller a gmbh 1", tableConfig);
+
+        // 1 is still searched in the id column
+        assertEquals(2, query.getDroppedTerms());
+        assertEquals("name LIKE( ? ) ESCAPE '!' OR id = ?", new FileTranslator().translate(query));
+
+        // quoted terms are always searched
+        assertEquals(0, interpreter.interpret("\"the\"", tableConfig).getDroppedTerms());
+
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> interpreter.interpret("the a", tableConfig));
+
+        assertEquals(7, exception.getErrorCode());
+    }
+
+    @Test
+    void reject() {
+        LogicInterpreter interpreter = new LogicInterpreter(new TermFilter(2, stopwords, true));
+
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> interpreter.interpret("müller the", tableConfig));
+
+        assertEquals(7, exception.getErrorCode());
+    }
+}
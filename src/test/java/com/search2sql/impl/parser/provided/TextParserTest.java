@@ -0,0 +1,37 @@
+package com.search2sql.impl.parser.provided;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.util.ParserLoader;
+import com.search2sql.query.SubQuery;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextParserTest {
+
+    @Test
+    void modes() throws InvalidSearchException {
+        assertEquals("%smith%", new TextParser().parse("smith").getValue());
+
+        SubQuery prefix = ParserLoader.loadParser("default.text#prefix").parse("smith");
+
+        assertEquals("simple.prefix", prefix.getType());
+        assertEquals("smith%", prefix.getValue());
+        assertEquals("smith", prefix.getTerm());
+
+        SubQuery exact = ParserLoader.loadParser("default.text#exact").parse("\"john smith\"");
+
+        assertEquals("quote.exact", exact.getType());
+        assertEquals("john smith", exact.getValue());
+
+        assertEquals("m%ller%", ParserLoader.loadParser("default.text#false, wildcard").parse("m*ller*").getValue());
+    }
+
+    @Test
+    void escaping() throws InvalidSearchException {
+        assertEquals("%100!%%", new TextParser().parse("100%").getValue());
+        assertEquals("a!_b%", ParserLoader.loadParser("default.text#prefix").parse("a_b").getValue());
+        assertEquals("!!!%%", ParserLoader.loadParser("default.text#wildcard").parse("!%*").getValue());
+        assertEquals("100%", ParserLoader.loadParser("default.text#exact").parse("100%").getValue());
+    }
+}
@@ -0,0 +1,45 @@
+package com.search2sql.impl.rewriter;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.LogicInterpreter;
+import com.search2sql.impl.translator.FileTranslator;
+import com.search2sql.query.Query;
+import com.search2sql.query.SqlArray;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InListRewriterTest {
+
+    private final TableConfig tableConfig = new TableConfig(new Table(new Column("id", ParserTypes.INT)));
+
+    @Test
+    void collapse() throws InvalidSearchException {
+        Query query = new InListRewriter().rewrite(new LogicInterpreter().interpret("1001 1002 1003", tableConfig));
+
+        assertEquals("id IN ( ?, ?, ? )", new FileTranslator().translate(query));
+        assertEquals(Arrays.asList(1001, 1002, 1003), query.getSubQueries().get(0).getValue());
+    }
+
+    @Test
+    void padding() throws InvalidSearchException {
+        Query query = new InListRewriter(4, 8).rewrite(new LogicInterpreter().interpret("1 2 3", tableConfig));
+
+        assertEquals("id IN ( ?, ?, ?, ? )", new FileTranslator().translate(query));
+        assertEquals(Arrays.asList(1, 2, 3, 3), query.getSubQueries().get(0).getValue());
+    }
+
+    @Test
+    void arrays() throws InvalidSearchException {
+        Query query = new InListRewriter(true).rewrite(new LogicInterpreter().interpret("1 2 3 and not 4", tableConfig));
+
+        assertEquals("id = ANY( ? ) OR id = ? AND NOT id = ?", new FileTranslator().translate(query));
+        assertArrayEquals(new Object[]{1, 2}, ((SqlArray) query.getSubQueries().get(0).getValue()).getElements());
+    }
+}
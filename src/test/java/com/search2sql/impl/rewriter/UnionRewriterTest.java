@@ -0,0 +1,58 @@
+package com.search2sql.impl.rewriter;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.LogicInterpreter;
+import com.search2sql.impl.translator.FileTranslator;
+import com.search2sql.query.Query;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnionRewriterTest {
+
+    private final TableConfig tableConfig = new TableConfig(new Table("orders", "o", "id",
+            new Column("customer_no", ParserTypes.INT, true),
+            new Column("zip", ParserTypes.INT, true)));
+
+    @Test
+    void union() throws InvalidSearchException, SQLException {
+        Query query = new UnionRewriter().rewrite(new LogicInterpreter().interpret("80331", tableConfig));
+        String sql = new FileTranslator().translate(query);
+
+        assertTrue(sql.startsWith("o.id IN ( SELECT o.id FROM orders o WHERE o."), sql);
+        assertTrue(sql.contains(" UNION ALL SELECT o.id FROM orders o WHERE o."), sql);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:union");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders ( id INTEGER PRIMARY KEY, customer_no INTEGER, zip INTEGER )");
+            statement.execute("INSERT INTO orders VALUES (1, 80331, 10115), (2, 4711, 80331), (3, 4711, 10115)");
+
+            try (PreparedStatement ps = connection.prepareStatement("SELECT COUNT(*) FROM orders o WHERE " + sql)) {
+                ps.setInt(1, 80331);
+                ps.setInt(2, 80331);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(2, rs.getInt(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    void unindexed() throws InvalidSearchException {
+        TableConfig config = new TableConfig(new Table("orders", "o", "id",
+                new Column("customer_no", ParserTypes.INT, true),
+                new Column("zip", ParserTypes.INT)));
+
+        Query query = new UnionRewriter().rewrite(new LogicInterpreter().interpret("80331", config));
+
+        assertFalse(new FileTranslator().translate(query).contains("UNION"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.search2sql.impl.rewriter;
+
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.LogicInterpreter;
+import com.search2sql.query.Query;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WildcardRewriterTest {
+
+    private final TableConfig tableConfig = new TableConfig(new Table(new Column("name", "default.text#wildcard")));
+
+    @Test
+    void rewrite() throws InvalidSearchException {
+        assertEquals("%b", rewrite(new WildcardRewriter(), "**b"));
+        assertEquals("%a%b%", rewrite(new WildcardRewriter(3, false), "*a*b*c*"));
+        assertEquals("%a%b%", rewrite(new WildcardRewriter(3, false), "*a*b*"));
+
+        InvalidSearchException exception = assertThrows(InvalidSearchException.class,
+                () -> rewrite(new WildcardRewriter(3, true), "*a*b*c*"));
+
+        assertEquals(6, exception.getErrorCode());
+    }
+
+    private Object rewrite(WildcardRewriter rewriter, String search) throws InvalidSearchException {
+        Query query = rewriter.rewrite(new LogicInterpreter().interpret(search, tableConfig));
+
+        // the first sub-query with a parser is the predicate, the others are brackets
+        return query.getSubQueries().stream()
+                .filter(subQuery -> subQuery.getParserId() != null)
+                .findFirst()
+                .orElseThrow(AssertionError::new)
+                .getValue();
+    }
+}
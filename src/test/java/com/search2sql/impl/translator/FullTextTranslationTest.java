@@ -0,0 +1,46 @@
+package com.search2sql.impl.translator;
+
+import com.search2sql.Search;
+import com.search2sql.SearchBuilder;
+import com.search2sql.impl.interpreter.LogicInterpreter;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullTextTranslationTest {
+
+    @Test
+    void sqlite() throws Exception {
+        Search search = new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(new Column("body", "default.text#fulltext"))))
+                .setInterpreter(new LogicInterpreter())
+                .setTranslator(new FileTranslator("fulltext/sqlite.properties"))
+                .build();
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE VIRTUAL TABLE notes USING fts5(title, body)");
+                statement.execute("INSERT INTO notes VALUES ('a', 'the quick brown fox'), ('b', 'brown quick dog'), " +
+                        "('quick', 'lazy \"cat\"')");
+            }
+
+            assertEquals(2, count(search, connection, "quick"));
+            assertEquals(1, count(search, connection, "\"quick brown\""));
+            assertEquals(1, count(search, connection, "cat"));
+        }
+    }
+
+    private int count(Search search, Connection connection, String expression) throws Exception {
+        try (PreparedStatement ps = search.prepareStatement(expression, connection, "SELECT COUNT(*) FROM notes WHERE", "", 1);
+             ResultSet rs = ps.executeQuery()) {
+            assertTrue(rs.next());
+
+            return rs.getInt(1);
+        }
+    }
+}
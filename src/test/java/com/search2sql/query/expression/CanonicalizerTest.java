@@ -0,0 +1,62 @@
+package com.search2sql.query.expression;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.Search;
+import com.search2sql.SearchBuilder;
+import com.search2sql.exception.InvalidSearchException;
+import com.search2sql.impl.interpreter.ExpressionInterpreter;
+import com.search2sql.query.Query;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanonicalizerTest {
+
+    private final Search search = new SearchBuilder()
+            .setTableConfig(new TableConfig(new Table(
+                    new Column("id", ParserTypes.INT),
+                    new Column("name", ParserTypes.TEXT))))
+            .setInterpreter(new ExpressionInterpreter())
+            .build();
+
+    @Test
+    void fingerprint() throws InvalidSearchException {
+        assertSame("foo bar", "bar  foo");
+        assertSame("foo or bar", "bar OR foo");
+        assertSame("foo and (bar or baz)", "(baz or bar) AND foo");
+        assertSame("foo or (bar or baz)", "baz or bar or foo");
+        assertSame("foo or foo", "foo");
+        assertSame("not not foo", "foo");
+        assertSame("foo and bar and foo", "bar and foo");
+        assertSame("1...5", "1...5");
+        assertSame("1...5 or foo", "foo or 1...5");
+
+        assertDifferent("foo and bar", "foo or bar");
+        assertDifferent("foo and not bar", "bar and not foo");
+        assertDifferent("foo", "Foo");
+        assertDifferent("1...5", "1...6");
+        assertDifferent("foo and (bar or baz)", "(foo and bar) or baz");
+    }
+
+    @Test
+    void canonicalize() throws InvalidSearchException {
+        Query query = Canonicalizer.canonicalize(search.interpret("foo or (bar or foo)"));
+
+        // the canonical query is already canonical
+        assertEquals(Canonicalizer.canonicalForm(query), Canonicalizer.canonicalForm(search.interpret("bar or foo")));
+        assertEquals(3, query.getSubQueries().size());
+        assertEquals("", Canonicalizer.canonicalForm(new Query()));
+    }
+
+    private void assertSame(String first, String second) throws InvalidSearchException {
+        assertEquals(Canonicalizer.canonicalForm(search.interpret(first)), Canonicalizer.canonicalForm(search.interpret(second)));
+        assertEquals(Canonicalizer.fingerprint(search.interpret(first)), Canonicalizer.fingerprint(search.interpret(second)));
+    }
+
+    private void assertDifferent(String first, String second) throws InvalidSearchException {
+        assertNotEquals(Canonicalizer.fingerprint(search.interpret(first)), Canonicalizer.fingerprint(search.interpret(second)));
+    }
+}
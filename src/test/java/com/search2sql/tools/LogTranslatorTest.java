@@ -0,0 +1,70 @@
+package com.search2sql.tools;
+
+import com.search2sql.ParserTypes;
+import com.search2sql.Search;
+import com.search2sql.SearchBuilder;
+import com.search2sql.impl.interpreter.ExpressionInterpreter;
+import com.search2sql.query.expression.Canonicalizer;
+import com.search2sql.table.Column;
+import com.search2sql.table.Table;
+import com.search2sql.table.TableConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTranslatorTest {
+
+    @Test
+    void translate(@TempDir Path directory) throws IOException, InterruptedException {
+        Search search = new SearchBuilder()
+                .setTableConfig(new TableConfig(new Table(new Column("id", ParserTypes.INT))))
+                .setInterpreter(new ExpressionInterpreter())
+                .build();
+
+        Path input = directory.resolve("searches.log");
+        Path output = directory.resolve("searches.tsv");
+
+        Files.write(input, "1 or 2\r\nabc\n3 or 4".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(3, new LogTranslator(search, 2).translate(input, output));
+
+        List<String> lines = new ArrayList<>(Files.readAllLines(output, StandardCharsets.UTF_8));
+
+        Collections.sort(lines);
+
+        // the id is derived from the sql, not from the thread that reached the shape first
+        String id = String.format("%016x", Canonicalizer.fingerprint("id = ? OR id = ?"));
+
+        assertEquals("0\t" + id + "\t1,2\t", lines.get(0));
+        assertEquals("12\t" + id + "\t3,4\t", lines.get(1));
+        assertEquals("8\t-1\t\t1", lines.get(2));
+
+        List<String> shapes = Files.readAllLines(directory.resolve("searches.tsv.shapes"), StandardCharsets.UTF_8);
+
+        assertEquals(Collections.singletonList(id + "\tid = ? OR id = ?"), shapes);
+
+        // the shapes are sorted by their id and another run gives the same ids
+        Files.write(input, "1\n1 or 2\n1 or 2 or 3".getBytes(StandardCharsets.UTF_8));
+
+        new LogTranslator(search, 4).translate(input, output);
+
+        shapes = Files.readAllLines(directory.resolve("searches.tsv.shapes"), StandardCharsets.UTF_8);
+
+        List<String> sorted = new ArrayList<>(shapes);
+
+        Collections.sort(sorted);
+
+        assertEquals(3, shapes.size());
+        assertEquals(sorted, shapes);
+        assertTrue(shapes.contains(id + "\tid = ? OR id = ?"));
+    }
+}